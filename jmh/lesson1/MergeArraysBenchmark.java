@@ -0,0 +1,121 @@
+package lesson1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Слияние маленького first с большим second. Кроме времени mergeObjects выводит счётчики событий
+ * comparisons и calls: их отношение - число сравнений на вызов, которое растёт как m*log(n/m), а не как n.
+ * <p>
+ * Слияние портит second, поэтому каждый вызов сначала копирует в него исходный массив. Копирование
+ * измеряется отдельно (copyObjects, copyInts): время слияния - разность mergeObjects - copyObjects
+ * и mergeInts - copyInts. Восстановление через Level.Invocation здесь не годится: для миллионов
+ * элементов его накладные расходы сравнимы с самим слиянием и искажают замер.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MergeArraysBenchmark {
+
+    private static final class CountingKey implements Comparable<CountingKey> {
+        static long comparisons = 0;
+
+        final int value;
+
+        CountingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(CountingKey other) {
+            comparisons++;
+            return Integer.compare(value, other.value);
+        }
+    }
+
+    /**
+     * Счётчики типа EVENTS выводятся как есть, без деления на время: счётчик типа OPERATIONS
+     * в режиме AverageTime превратился бы во время на одно сравнение
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Comparisons {
+        public long comparisons;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            comparisons = 0;
+            calls = 0;
+        }
+    }
+
+    @Param({"10", "1000"})
+    public int firstSize;
+
+    @Param({"1000000", "10000000"})
+    public int secondSize;
+
+    private CountingKey[] first;
+    private CountingKey[] secondTemplate;
+    private CountingKey[] second;
+    private int[] firstInts;
+    private int[] secondIntsTemplate;
+    private int[] secondInts;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        firstInts = new int[firstSize];
+        for (int i = 0; i < firstSize; i++) {
+            firstInts[i] = random.nextInt(secondSize * 10);
+        }
+        Arrays.sort(firstInts);
+        secondIntsTemplate = new int[firstSize + secondSize];
+        for (int i = 0; i < secondSize; i++) {
+            secondIntsTemplate[firstSize + i] = i * 10;
+        }
+        first = new CountingKey[firstSize];
+        for (int i = 0; i < firstSize; i++) {
+            first[i] = new CountingKey(firstInts[i]);
+        }
+        secondTemplate = new CountingKey[firstSize + secondSize];
+        for (int i = firstSize; i < secondTemplate.length; i++) {
+            secondTemplate[i] = new CountingKey(secondIntsTemplate[i]);
+        }
+        second = new CountingKey[secondTemplate.length];
+        secondInts = new int[secondIntsTemplate.length];
+    }
+
+    @Benchmark
+    public CountingKey[] copyObjects() {
+        System.arraycopy(secondTemplate, 0, second, 0, second.length);
+        return second;
+    }
+
+    @Benchmark
+    public CountingKey[] mergeObjects(Comparisons counter) {
+        System.arraycopy(secondTemplate, 0, second, 0, second.length);
+        long before = CountingKey.comparisons;
+        JavaTasks.mergeArrays(first, second);
+        counter.comparisons += CountingKey.comparisons - before;
+        counter.calls++;
+        return second;
+    }
+
+    @Benchmark
+    public int[] copyInts() {
+        System.arraycopy(secondIntsTemplate, 0, secondInts, 0, secondInts.length);
+        return secondInts;
+    }
+
+    @Benchmark
+    public int[] mergeInts() {
+        System.arraycopy(secondIntsTemplate, 0, secondInts, 0, secondInts.length);
+        JavaTasks.mergeArrays(firstInts, secondInts);
+        return secondInts;
+    }
+}
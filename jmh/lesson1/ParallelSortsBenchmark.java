@@ -0,0 +1,70 @@
+package lesson1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ускорение параллельных сортировок в зависимости от числа потоков пула в сравнении с Arrays.parallelSort
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelSortsBenchmark {
+
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"8192"})
+    public int threshold;
+
+    private int[] source;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = SortsBenchmark.generate("random", size, new Random(42));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() {
+        int[] elements = source.clone();
+        Sorts.parallelMergeSort(elements, pool, threshold);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] parallelQuickSort() {
+        int[] elements = source.clone();
+        Sorts.parallelQuickSort(elements, pool, threshold);
+        return elements;
+    }
+
+    // Задачи Arrays.parallelSort, запущенной из потока пула, выполняются в этом же пуле
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] elements = source.clone();
+        pool.submit(() -> Arrays.parallelSort(elements)).join();
+        return elements;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] elements = source.clone();
+        Arrays.sort(elements);
+        return elements;
+    }
+}
@@ -0,0 +1,101 @@
+package lesson1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение сортировок lesson1.Sorts с Arrays.sort на разных распределениях входа.
+ * Каждый вызов сортирует копию исходного массива, время копирования одинаково для всех сортировок.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SortsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "fewUnique", "organPipe"})
+    public String distribution;
+
+    private int[] source;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = generate(distribution, size, new Random(42));
+    }
+
+    static int[] generate(String distribution, int size, Random random) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case "random" -> result[i] = random.nextInt();
+                case "sorted" -> result[i] = i;
+                case "reversed" -> result[i] = size - i;
+                case "fewUnique" -> result[i] = random.nextInt(8);
+                case "organPipe" -> result[i] = i < size / 2 ? i : size - i;
+                default -> throw new IllegalArgumentException(distribution);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] insertionSort() {
+        int[] elements = source.clone();
+        Sorts.insertionSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        int[] elements = source.clone();
+        Sorts.mergeSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] heapSort() {
+        int[] elements = source.clone();
+        Sorts.heapSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        int[] elements = source.clone();
+        Sorts.quickSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] introSort() {
+        int[] elements = source.clone();
+        Sorts.introSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] dualPivotQuickSort() {
+        int[] elements = source.clone();
+        Sorts.dualPivotQuickSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        int[] elements = source.clone();
+        Sorts.radixSort(elements);
+        return elements;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] elements = source.clone();
+        Arrays.sort(elements);
+        return elements;
+    }
+}
@@ -0,0 +1,72 @@
+package lesson2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задачи lesson2.JavaAlgorithms на входах размера size: файл цен из size строк,
+ * круг из size человек и простые числа до size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JavaAlgorithmsBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private Path prices;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        Random random = new Random(42);
+        prices = Files.createTempFile("prices", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(prices)) {
+            for (int i = 0; i < size; i++) {
+                writer.write(Integer.toString(1 + random.nextInt(100000)));
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(prices);
+    }
+
+    @Benchmark
+    public Object optimizeBuyAndSell() throws IOException {
+        return JavaAlgorithms.optimizeBuyAndSell(prices.toString());
+    }
+
+    @Benchmark
+    public Object optimizeBuyAndSellParallel() throws IOException {
+        return BuySellOptimizer.optimizeParallel(prices.toString());
+    }
+
+    @Benchmark
+    public int josephTask() {
+        return JavaAlgorithms.josephTask(size, 3);
+    }
+
+    @Benchmark
+    public long josephTaskLinear() {
+        return Josephus.survivorLinear(size, 3);
+    }
+
+    @Benchmark
+    public int[] josephEliminationOrder() {
+        return Josephus.eliminationOrder(size, 3);
+    }
+
+    @Benchmark
+    public int calcPrimesNumber() {
+        return JavaAlgorithms.calcPrimesNumber(size);
+    }
+}
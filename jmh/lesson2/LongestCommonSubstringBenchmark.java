@@ -0,0 +1,77 @@
+package lesson2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Наибольшая общая подстрока суффиксным автоматом и динамическим программированием.
+ * Динамика работает за O(n*m), поэтому для неё размеры ограничены 3*10^4,
+ * автомат проверяется до 10^6 символов в каждой строке.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LongestCommonSubstringBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AutomatonInput {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        @Param({"4", "33"})
+        public int alphabet;
+
+        String first;
+        String second;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            Random random = new Random(42);
+            first = randomString(size, alphabet, random);
+            second = randomString(size, alphabet, random);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DynamicInput {
+        @Param({"1000", "3000", "10000", "30000"})
+        public int size;
+
+        @Param({"4", "33"})
+        public int alphabet;
+
+        String first;
+        String second;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            Random random = new Random(42);
+            first = randomString(size, alphabet, random);
+            second = randomString(size, alphabet, random);
+        }
+    }
+
+    static String randomString(int size, int alphabet, Random random) {
+        char[] result = new char[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (char) ('а' + random.nextInt(alphabet));
+        }
+        return new String(result);
+    }
+
+    @Benchmark
+    public String automaton(AutomatonInput input) {
+        return JavaAlgorithms.longestCommonSubstring(input.first, input.second);
+    }
+
+    @Benchmark
+    public String rows(DynamicInput input) {
+        return JavaAlgorithms.longestCommonSubstringByRows(input.first, input.second);
+    }
+
+    @Benchmark
+    public String diagonals(DynamicInput input) {
+        return JavaAlgorithms.longestCommonSubstringByDiagonals(input.first, input.second);
+    }
+}
@@ -0,0 +1,71 @@
+package lesson3;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Добавление упорядоченных ключей в АВЛ-дерево и TreeSet (красно-чёрное дерево) для сравнения.
+ * BinarySearchTree на таком входе вырождается в список и не участвует.
+ * Каждое измерение строит дерево заново, поэтому используется режим однократного запуска.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AvlTreeBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private AvlTree<Integer> tree;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        Random random = new Random(42);
+        lookups = new Integer[1 << 20];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = random.nextInt(2 * size);
+        }
+        tree = new AvlTree<>();
+        fill(tree);
+    }
+
+    private <S extends SortedSet<Integer>> S fill(S set) {
+        for (Integer key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public AvlTree<Integer> sortedInsertAvl() {
+        return fill(new AvlTree<>());
+    }
+
+    @Benchmark
+    public TreeSet<Integer> sortedInsertTreeSet() {
+        return fill(new TreeSet<>());
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (Integer lookup : lookups) {
+            if (tree.contains(lookup)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
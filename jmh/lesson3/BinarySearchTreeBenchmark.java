@@ -0,0 +1,84 @@
+package lesson3;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Основные операции BinarySearchTree на случайных и упорядоченных ключах.
+ * Несбалансированное дерево на упорядоченных ключах вырождается в список,
+ * поэтому размеры ограничены 10^4: добавление в него квадратично по числу ключей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinarySearchTreeBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"random", "sorted"})
+    public String order;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private BinarySearchTree<Integer> tree;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        keys = new Integer[size];
+        lookups = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = order.equals("sorted") ? 2 * i : 2 * random.nextInt(2 * size);
+        }
+        // Половина запросов попадает в дерево, половина (нечётные) - нет
+        for (int i = 0; i < size; i++) {
+            lookups[i] = i % 2 == 0 ? keys[random.nextInt(size)] : 2 * random.nextInt(2 * size) + 1;
+        }
+        tree = build();
+    }
+
+    private BinarySearchTree<Integer> build() {
+        BinarySearchTree<Integer> result = new BinarySearchTree<>();
+        for (Integer key : keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> add() {
+        return build();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (Integer lookup : lookups) {
+            if (tree.contains(lookup)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> addRemove() {
+        BinarySearchTree<Integer> result = build();
+        for (int i = 0; i < size; i += 2) {
+            result.remove(keys[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : tree) {
+            sum += value;
+        }
+        return sum;
+    }
+}
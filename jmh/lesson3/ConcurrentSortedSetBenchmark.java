@@ -0,0 +1,69 @@
+package lesson3;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность общего упорядоченного множества при работе нескольких потоков:
+ * LockFreeSkipListSet, ConcurrentSkipListSet и BinarySearchTree под одной общей блокировкой.
+ * Каждая операция - поиск, добавление или удаление случайного ключа; доля изменений задаётся writePercent.
+ * Число потоков меняется параметром JMH -t, по умолчанию 4.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class ConcurrentSortedSetBenchmark {
+
+    @Param({"lockFree", "concurrentSkipList", "synchronizedTree"})
+    public String implementation;
+
+    @Param({"10", "50"})
+    public int writePercent;
+
+    @Param({"100000"})
+    public int keyRange;
+
+    private SortedSet<Integer> set;
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        switch (implementation) {
+            case "lockFree":
+                set = new LockFreeSkipListSet<>();
+                break;
+            case "concurrentSkipList":
+                set = new ConcurrentSkipListSet<>();
+                break;
+            case "synchronizedTree":
+                set = Collections.synchronizedSortedSet(new BinarySearchTree<Integer>());
+                break;
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+        // Случайный порядок добавления, чтобы BinarySearchTree не выродился в список
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < keyRange / 2; i++) {
+            set.add(random.nextInt(keyRange));
+        }
+    }
+
+    @Benchmark
+    public boolean operation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(keyRange);
+        int choice = random.nextInt(200);
+        if (choice < writePercent) {
+            return set.add(key);
+        }
+        if (choice < 2 * writePercent) {
+            return set.remove(key);
+        }
+        return set.contains(key);
+    }
+}
@@ -0,0 +1,86 @@
+package lesson4;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Операции Trie на случайных словах длины от 1 до 15 над алфавитом из 8 букв, как в тестах
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrieBenchmark {
+
+    private static final String ALPHABET = "abcdefgh";
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private String[] words;
+    private String[] lookups;
+    private Trie trie;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        words = new String[size];
+        lookups = new String[size];
+        for (int i = 0; i < size; i++) {
+            words[i] = randomWord(random);
+            lookups[i] = i % 2 == 0 ? words[random.nextInt(i + 1)] : randomWord(random);
+        }
+        trie = build();
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[1 + random.nextInt(15)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(word);
+    }
+
+    private Trie build() {
+        Trie result = new Trie();
+        for (String word : words) {
+            result.add(word);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Trie add() {
+        return build();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (String lookup : lookups) {
+            if (trie.contains(lookup)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Trie addRemove() {
+        Trie result = build();
+        for (int i = 0; i < size; i += 2) {
+            result.remove(words[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int length = 0;
+        for (String word : trie) {
+            length += word.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,80 @@
+package lesson5;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Операции OpenAddressingSet при заполнении таблицы на loadFactor процентов
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenAddressingSetBenchmark {
+
+    @Param({"10", "20"})
+    public int bits;
+
+    @Param({"50", "90"})
+    public int loadFactor;
+
+    private Integer[] elements;
+    private Integer[] lookups;
+    private OpenAddressingSet<Integer> set;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        int size = (int) ((1L << bits) * loadFactor / 100);
+        elements = new Integer[size];
+        lookups = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = random.nextInt();
+            lookups[i] = i % 2 == 0 ? elements[random.nextInt(i + 1)] : random.nextInt();
+        }
+        set = build();
+    }
+
+    private OpenAddressingSet<Integer> build() {
+        OpenAddressingSet<Integer> result = new OpenAddressingSet<>(bits);
+        for (Integer element : elements) {
+            result.add(element);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public OpenAddressingSet<Integer> add() {
+        return build();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (Integer lookup : lookups) {
+            if (set.contains(lookup)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public OpenAddressingSet<Integer> addRemove() {
+        OpenAddressingSet<Integer> result = build();
+        for (int i = 0; i < elements.length; i += 2) {
+            result.remove(elements[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer element : set) {
+            sum += element;
+        }
+        return sum;
+    }
+}
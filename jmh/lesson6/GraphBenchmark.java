@@ -0,0 +1,85 @@
+package lesson6;
+
+import lesson6.impl.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Графовые алгоритмы lesson6 на графах из side * side вершин.
+ * Эйлеров цикл, остовное дерево и кратчайшие пути ищутся на торе (у каждой вершины четыре соседа,
+ * веса рёбер случайны), наибольшее независимое множество - на случайном дереве.
+ * Поиск эйлерова цикла рекурсивен по числу рёбер, поэтому сторона тора не больше 50.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphBenchmark {
+
+    @Param({"10", "50"})
+    public int side;
+
+    private Graph torus;
+    private Graph tree;
+    private Graph.Vertex start;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        int size = side * side;
+
+        GraphBuilder torusBuilder = new GraphBuilder();
+        Graph.Vertex[] vertices = new Graph.Vertex[size];
+        for (int i = 0; i < size; i++) {
+            vertices[i] = torusBuilder.addVertex("v" + i);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                Graph.Vertex vertex = vertices[row * side + column];
+                torusBuilder.addConnection(vertex, vertices[row * side + (column + 1) % side], 1 + random.nextInt(100));
+                torusBuilder.addConnection(vertex, vertices[(row + 1) % side * side + column], 1 + random.nextInt(100));
+            }
+        }
+        torus = torusBuilder.build();
+        start = vertices[0];
+
+        GraphBuilder treeBuilder = new GraphBuilder();
+        Graph.Vertex[] treeVertices = new Graph.Vertex[size];
+        for (int i = 0; i < size; i++) {
+            treeVertices[i] = treeBuilder.addVertex("t" + i);
+            if (i > 0) {
+                treeBuilder.addConnection(treeVertices[random.nextInt(i)], treeVertices[i], 1);
+            }
+        }
+        tree = treeBuilder.build();
+    }
+
+    @Benchmark
+    public List<Graph.Edge> findEulerLoop() {
+        return JavaGraphTasks.findEulerLoop(torus);
+    }
+
+    @Benchmark
+    public Graph minimumSpanningTree() {
+        return JavaGraphTasks.minimumSpanningTree(torus);
+    }
+
+    @Benchmark
+    public Set<Graph.Vertex> largestIndependentVertexSet() {
+        return JavaGraphTasks.largestIndependentVertexSet(tree);
+    }
+
+    @Benchmark
+    public Map<Graph.Vertex, VertexInfo> shortestPath() {
+        return DijkstraKt.shortestPath(torus, start);
+    }
+
+    @Benchmark
+    public Set<Graph.Edge> findBridges() {
+        return BridgesKt.findBridges(tree);
+    }
+}
@@ -0,0 +1,50 @@
+package lesson8;
+
+import lesson6.Graph;
+import lesson6.Path;
+import lesson6.impl.GraphBuilder;
+import lesson8.annealing.AnnealingVoyagingPathSearcher;
+import lesson8.genetic.GeneticVoyagingPathSearcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Эвристический поиск пути коммивояжёра на полном графе со случайными весами рёбер.
+ * Параметры отжига и генетического алгоритма взяты из тестов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HeuristicsBenchmark {
+
+    @Param({"10", "50"})
+    public int vertices;
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        GraphBuilder builder = new GraphBuilder();
+        Graph.Vertex[] added = new Graph.Vertex[vertices];
+        for (int i = 0; i < vertices; i++) {
+            added[i] = builder.addVertex("v" + i);
+            for (int j = 0; j < i; j++) {
+                builder.addConnection(added[j], added[i], 1 + random.nextInt(100));
+            }
+        }
+        graph = builder.build();
+    }
+
+    @Benchmark
+    public Path annealing() {
+        return new AnnealingVoyagingPathSearcher(graph, 5000, 2000).findVoyagingPath();
+    }
+
+    @Benchmark
+    public Path genetic() {
+        return new GeneticVoyagingPathSearcher(graph, 30, 50).findVoyagingPath();
+    }
+}
@@ -0,0 +1,270 @@
+package lesson1;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Внешняя сортировка адресов для JavaTasks.sortAddresses.
+ * <p>
+ * Записи читаются в память, пока их оценочный объём не превысит memoryBudget, затем
+ * отсортированная порция сбрасывается во временный файл в двоичном формате
+ * (улица, дом, фамилия, имя). Порции сливаются деревом проигравших; если порций больше,
+ * чем помещается буферов чтения в бюджет, слияние выполняется в несколько проходов.
+ * При последнем слиянии жители одного дома собираются в одну строку вывода.
+ * Если все записи поместились в одну порцию, временные файлы не создаются.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ExternalAddressSort {
+
+    static final int RUN_BUFFER_SIZE = 1 << 16;
+
+    // Грубая оценка занимаемой записью памяти: объекты, заголовки строк и массивов
+    private static final int RECORD_OVERHEAD = 160;
+
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    public ExternalAddressSort(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < 2L * RUN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Memory budget is too small: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    public ExternalAddressSort(long memoryBudget) {
+        this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalAddressSort() {
+        this(Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    static final class Resident {
+        final String street;
+        final int house;
+        final String surname;
+        final String name;
+
+        Resident(String street, int house, String surname, String name) {
+            this.street = street;
+            this.house = house;
+            this.surname = surname;
+            this.name = name;
+        }
+
+        boolean sameHouse(Resident other) {
+            return house == other.house && street.equals(other.street);
+        }
+
+        long estimatedSize() {
+            return RECORD_OVERHEAD + 2L * (street.length() + surname.length() + name.length());
+        }
+
+        static Resident parse(String line) {
+            int dash = line.indexOf(" - ");
+            int nameSpace = line.indexOf(' ');
+            int houseSpace = line.lastIndexOf(' ');
+            if (dash < 0 || nameSpace <= 0 || nameSpace + 1 >= dash || line.indexOf(' ', nameSpace + 1) != dash
+                    || houseSpace <= dash + 3) {
+                throw new IllegalArgumentException("Wrong address format: " + line);
+            }
+            int house = Integer.parseInt(line.substring(houseSpace + 1));
+            if (house <= 0) {
+                throw new IllegalArgumentException("Wrong house number: " + line);
+            }
+            return new Resident(line.substring(dash + 3, houseSpace), house,
+                    line.substring(0, nameSpace), line.substring(nameSpace + 1, dash));
+        }
+
+        void write(DataOutputStream output) throws IOException {
+            output.writeUTF(street);
+            output.writeInt(house);
+            output.writeUTF(surname);
+            output.writeUTF(name);
+        }
+
+        static Resident read(DataInputStream input) throws IOException {
+            String street;
+            try {
+                street = input.readUTF();
+            } catch (EOFException e) {
+                return null;
+            }
+            return new Resident(street, input.readInt(), input.readUTF(), input.readUTF());
+        }
+    }
+
+    static final Comparator<Resident> ORDER = Comparator
+            .comparing((Resident r) -> r.street)
+            .thenComparingInt(r -> r.house)
+            .thenComparing(r -> r.surname)
+            .thenComparing(r -> r.name);
+
+    //Сложность O(n*log(n))
+    //Ресурсоёмкость O(memoryBudget)
+    public void sort(String inputName, String outputName) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            List<Resident> lastRun = splitIntoRuns(inputName, runs);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(outputName), StandardCharsets.UTF_8))) {
+                if (runs.isEmpty()) {
+                    Iterator<Resident> iterator = lastRun.iterator();
+                    writeGrouped(() -> iterator.hasNext() ? iterator.next() : null, writer);
+                } else {
+                    int maxFanIn = (int) Math.max(2, memoryBudget / RUN_BUFFER_SIZE / 2);
+                    while (runs.size() > maxFanIn) {
+                        List<Path> group = new ArrayList<>(runs.subList(0, maxFanIn));
+                        runs.subList(0, maxFanIn).clear();
+                        try {
+                            Path merged = newRun();
+                            runs.add(merged);
+                            mergeRuns(group, merged);
+                        } finally {
+                            for (Path run : group) {
+                                Files.deleteIfExists(run);
+                            }
+                        }
+                    }
+                    mergeToOutput(runs, writer);
+                }
+            }
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Чтение входа с записью отсортированных порций в runs.
+     * Если вход поместился в бюджет целиком, порция не записывается, а возвращается отсортированной.
+     */
+    private List<Resident> splitIntoRuns(String inputName, List<Path> runs) throws IOException {
+        List<Resident> buffer = new ArrayList<>();
+        long used = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(inputName), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Resident resident = Resident.parse(line);
+                buffer.add(resident);
+                used += resident.estimatedSize();
+                if (used >= memoryBudget) {
+                    spill(buffer, runs);
+                    used = 0;
+                }
+            }
+        }
+        if (!runs.isEmpty() && !buffer.isEmpty()) {
+            spill(buffer, runs);
+        } else {
+            buffer.sort(ORDER);
+        }
+        return buffer;
+    }
+
+    private void spill(List<Resident> buffer, List<Path> runs) throws IOException {
+        buffer.sort(ORDER);
+        Path run = newRun();
+        runs.add(run);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(run), RUN_BUFFER_SIZE))) {
+            for (Resident resident : buffer) {
+                resident.write(output);
+            }
+        }
+        buffer.clear();
+    }
+
+    private Path newRun() throws IOException {
+        return Files.createTempFile(tempDirectory, "addresses", ".run");
+    }
+
+    private void mergeRuns(List<Path> group, Path merged) throws IOException {
+        List<DataInputStream> inputs = open(group);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(merged), RUN_BUFFER_SIZE))) {
+            LoserTree<Resident> tree = new LoserTree<>(sources(inputs), ORDER);
+            Resident resident;
+            while ((resident = tree.poll()) != null) {
+                resident.write(output);
+            }
+        } finally {
+            close(inputs);
+        }
+    }
+
+    private void mergeToOutput(List<Path> runs, Writer writer) throws IOException {
+        List<DataInputStream> inputs = open(runs);
+        try {
+            LoserTree<Resident> tree = new LoserTree<>(sources(inputs), ORDER);
+            writeGrouped(tree::poll, writer);
+        } finally {
+            close(inputs);
+        }
+    }
+
+    private static List<DataInputStream> open(List<Path> runs) throws IOException {
+        List<DataInputStream> inputs = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                inputs.add(new DataInputStream(new BufferedInputStream(Files.newInputStream(run), RUN_BUFFER_SIZE)));
+            }
+        } catch (IOException e) {
+            close(inputs);
+            throw e;
+        }
+        return inputs;
+    }
+
+    private static List<LoserTree.Source<Resident>> sources(List<DataInputStream> inputs) {
+        List<LoserTree.Source<Resident>> sources = new ArrayList<>();
+        for (DataInputStream input : inputs) {
+            sources.add(() -> Resident.read(input));
+        }
+        return sources;
+    }
+
+    private static void close(List<DataInputStream> inputs) throws IOException {
+        for (DataInputStream input : inputs) {
+            input.close();
+        }
+    }
+
+    /**
+     * Вывод отсортированных записей: жители одного дома выводятся в одной строке через запятую.
+     * Строка не накапливается в памяти, поэтому число жителей одного дома не ограничено.
+     */
+    private static void writeGrouped(LoserTree.Source<Resident> residents, Writer writer) throws IOException {
+        Resident previous = null;
+        Resident resident;
+        while ((resident = residents.next()) != null) {
+            if (previous != null && previous.sameHouse(resident)) {
+                writer.write(", ");
+            } else {
+                if (previous != null) {
+                    writer.write('\n');
+                }
+                writer.write(resident.street);
+                writer.write(' ');
+                writer.write(Integer.toString(resident.house));
+                writer.write(" - ");
+            }
+            writer.write(resident.surname);
+            writer.write(' ');
+            writer.write(resident.name);
+            previous = resident;
+        }
+        if (previous != null) {
+            writer.write('\n');
+        }
+    }
+}
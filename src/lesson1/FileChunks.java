@@ -0,0 +1,72 @@
+package lesson1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбиение файла со строками на куски для параллельной обработки отображениями в память.
+ * Границы кусков совпадают с границами строк, поэтому каждый кусок разбирается независимо.
+ */
+public final class FileChunks {
+
+    public static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    private FileChunks() {
+    }
+
+    /**
+     * Размер куска: несколько кусков на поток, чтобы сгладить неравномерность нагрузки,
+     * но не больше maxChunkSize и не меньше MIN_CHUNK_SIZE (если maxChunkSize не меньше его)
+     */
+    public static int chunkSize(long fileSize, int parallelism, int maxChunkSize) {
+        long perThread = fileSize / (4L * parallelism) + 1;
+        return (int) Math.max(Math.min(maxChunkSize, perThread), Math.min(MIN_CHUNK_SIZE, maxChunkSize));
+    }
+
+    /**
+     * Границы кусков: каждая граница, кроме нулевой, стоит сразу за символом '\n' или в конце файла.
+     * Для пустого файла возвращается единственная граница 0.
+     */
+    //Сложность O(n / chunkSize + длина строк на границах)
+    public static long[] splitAtLines(FileChannel input, int chunkSize) throws IOException {
+        long fileSize = input.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        long position = 0;
+        while (position < fileSize) {
+            long next = position + chunkSize;
+            if (next >= fileSize) {
+                next = fileSize;
+            } else {
+                next = nextLineStart(input, next - 1, probe);
+            }
+            bounds.add(next);
+            position = next;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel input, long position, ByteBuffer probe) throws IOException {
+        long fileSize = input.size();
+        while (position < fileSize) {
+            probe.clear();
+            int read = input.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+}
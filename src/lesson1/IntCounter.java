@@ -0,0 +1,100 @@
+package lesson1;
+
+/**
+ * Счётчик повторений целых чисел на открытой адресации без упаковки в Integer.
+ * <p>
+ * Ключи и счётчики хранятся в двух параллельных массивах, нулевой счётчик означает пустую ячейку.
+ * Разрешение коллизий - линейное пробирование. Таблица растёт в полтора раза при заполнении
+ * больше чем на три четверти, поэтому на различный ключ приходится от 4/3 до 2 ячеек,
+ * то есть от 11 до 16 байт (до 27 байт на время расширения), а не до 32 байт, как при удвоении.
+ */
+class IntCounter {
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] keys;
+    private int[] counts;
+    private int size = 0;
+
+    IntCounter(int expectedSize) {
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max(4, expectedSize * 4L / 3 + 1));
+        keys = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    /**
+     * Размер таблицы не обязан быть степенью двойки: старшие 32 бита произведения
+     * хеша Фибоначчи на capacity равномерно распределены по [0, capacity)
+     */
+    private static int startingIndex(int key, int capacity) {
+        long hash = (key * 0x9E3779B9) & 0xFFFFFFFFL;
+        return (int) ((hash * capacity) >>> 32);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Увеличение счётчика key на единицу, возвращает новое значение счётчика
+     */
+    //Сложность O(1) в среднем
+    int increment(int key) {
+        int index = startingIndex(key, keys.length);
+        while (counts[index] != 0) {
+            if (keys[index] == key) {
+                return ++counts[index];
+            }
+            if (++index == keys.length) index = 0;
+        }
+        keys[index] = key;
+        counts[index] = 1;
+        if (++size * 4L > keys.length * 3L) {
+            resize();
+        }
+        return 1;
+    }
+
+    /**
+     * Наиболее часто встречающийся ключ, а из нескольких таких - минимальный.
+     * Бросает IllegalStateException, если счётчик пуст.
+     */
+    //Сложность O(capacity)
+    int mostFrequent() {
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+        int bestKey = 0;
+        int bestCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int count = counts[i];
+            if (count > bestCount || count == bestCount && count != 0 && keys[i] < bestKey) {
+                bestKey = keys[i];
+                bestCount = count;
+            }
+        }
+        return bestKey;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int capacity = (int) Math.min(MAX_CAPACITY, oldKeys.length + (oldKeys.length >> 1));
+        if (capacity == oldKeys.length) {
+            if (size < capacity) return;
+            throw new IllegalStateException("Too many distinct keys: " + size);
+        }
+        keys = new int[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int index = startingIndex(oldKeys[i], capacity);
+                while (counts[index] != 0) {
+                    if (++index == capacity) index = 0;
+                }
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -1,10 +1,7 @@
 package lesson1;
 
-import kotlin.NotImplementedError;
-
 import java.io.*;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 @SuppressWarnings("unused")
@@ -39,10 +36,55 @@ public class JavaTasks {
      * <p>
      * В случае обнаружения неверного формата файла бросить любое исключение.
      */
-    static public void sortTimes(String inputName, String outputName) {
-        throw new NotImplementedError();
+    //Сложность O(n)
+    //Ресурсоёмкость O(1)
+    static public void sortTimes(String inputName, String outputName) throws IOException {
+        ParallelCountingSort.sort(inputName, outputName, TIME_FORMAT);
     }
 
+    private static final int SECONDS_IN_DAY = 24 * 60 * 60;
+
+    // Ключ - номер секунды от начала суток, строка строго в формате ЧЧ:ММ:СС AM/PM
+    static final ParallelCountingSort.KeyFormat TIME_FORMAT = new ParallelCountingSort.KeyFormat() {
+        @Override
+        public int keysNumber() {
+            return SECONDS_IN_DAY;
+        }
+
+        @Override
+        public int parse(ByteBuffer buffer, int from, int to) {
+            if (to - from != 11 || buffer.get(from + 2) != ':' || buffer.get(from + 5) != ':'
+                    || buffer.get(from + 8) != ' ' || buffer.get(from + 10) != 'M') {
+                throw new IllegalArgumentException("Wrong time format");
+            }
+            int hours = twoDigits(buffer, from);
+            int minutes = twoDigits(buffer, from + 3);
+            int seconds = twoDigits(buffer, from + 6);
+            byte period = buffer.get(from + 9);
+            if (hours < 1 || hours > 12 || minutes > 59 || seconds > 59 || period != 'A' && period != 'P') {
+                throw new IllegalArgumentException("Wrong time format");
+            }
+            hours = hours % 12 + (period == 'P' ? 12 : 0);
+            return (hours * 60 + minutes) * 60 + seconds;
+        }
+
+        private int twoDigits(ByteBuffer buffer, int from) {
+            int high = buffer.get(from) - '0';
+            int low = buffer.get(from + 1) - '0';
+            if (high < 0 || high > 9 || low < 0 || low > 9) {
+                throw new IllegalArgumentException("Wrong time format");
+            }
+            return high * 10 + low;
+        }
+
+        @Override
+        public String format(int key) {
+            int hours = key / 3600;
+            int hours12 = hours % 12 == 0 ? 12 : hours % 12;
+            return String.format("%02d:%02d:%02d %s", hours12, key / 60 % 60, key % 60, hours < 12 ? "AM" : "PM");
+        }
+    };
+
     /**
      * Сортировка адресов
      * <p>
@@ -69,8 +111,10 @@ public class JavaTasks {
      * <p>
      * В случае обнаружения неверного формата файла бросить любое исключение.
      */
-    static public void sortAddresses(String inputName, String outputName) {
-        throw new NotImplementedError();
+    //Сложность O(n*log(n))
+    //Ресурсоёмкость O(1) сверх настраиваемого бюджета памяти, см. ExternalAddressSort
+    static public void sortAddresses(String inputName, String outputName) throws IOException {
+        new ExternalAddressSort().sort(inputName, outputName);
     }
 
     /**
@@ -106,32 +150,62 @@ public class JavaTasks {
     //Сложность O(n)
     //Ресурсоёмкость O(1)
     static public void sortTemperatures(String inputName, String outputName) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inputName)));
-             FileWriter writer = new FileWriter(outputName)) {
+        ParallelCountingSort.sort(inputName, outputName, TEMPERATURE_FORMAT);
+    }
 
-            int[] repeatings = new int[7731];
-            String line;
-            while ((line = reader.readLine()) != null) {
-                int index = (int) ((roundToOnePlace(Double.parseDouble(line) + 273)) * 10);
-                repeatings[index]++;
-            }
-            reader.close();
-            for (int i = 0; i < repeatings.length; i++) {
-                for (int j = 0; j < repeatings[i]; j++) {
-                    double temperature = i / 10.0 - 273.0;
-                    writer.write(roundToOnePlace(temperature) + "\n");
+    // Температура хранится в десятых долях градуса: от -2730 до 5000
+    private static final int MIN_TEMPERATURE = 2730;
+    private static final int MAX_TEMPERATURE = 5000;
+
+    // Ключ - температура в десятых долях градуса, сдвинутая на MIN_TEMPERATURE
+    static final ParallelCountingSort.KeyFormat TEMPERATURE_FORMAT = new ParallelCountingSort.KeyFormat() {
+        @Override
+        public int keysNumber() {
+            return MIN_TEMPERATURE + MAX_TEMPERATURE + 1;
+        }
 
+        @Override
+        public int parse(ByteBuffer buffer, int from, int to) {
+            boolean negative = from < to && buffer.get(from) == '-';
+            int value = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (int i = negative ? from + 1 : from; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    } else {
+                        digits++;
+                    }
+                    value = value * 10 + (b - '0');
+                    if (fractionDigits > 1 || value > MAX_TEMPERATURE * 10) {
+                        throw new IllegalArgumentException("Wrong temperature format");
+                    }
+                } else if (b == '.' && digits > 0 && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    throw new IllegalArgumentException("Wrong temperature format");
                 }
             }
-
+            if (digits == 0 || fractionDigits == 0) {
+                throw new IllegalArgumentException("Wrong temperature format");
+            }
+            int tenths = fractionDigits < 0 ? value * 10 : value;
+            int key = (negative ? -tenths : tenths) + MIN_TEMPERATURE;
+            if (key < 0 || key >= keysNumber()) {
+                throw new IllegalArgumentException("Wrong temperature: " + tenths);
+            }
+            return key;
         }
-    }
 
-    private static double roundToOnePlace(double value) {
-        BigDecimal bd = BigDecimal.valueOf(value);
-        bd = bd.setScale(1, RoundingMode.HALF_UP);
-        return bd.doubleValue();
-    }
+        @Override
+        public String format(int key) {
+            int tenths = key - MIN_TEMPERATURE;
+            int abs = Math.abs(tenths);
+            return (tenths < 0 ? "-" : "") + abs / 10 + "." + abs % 10;
+        }
+    };
 
     /**
      * Сортировка последовательности
@@ -162,51 +236,110 @@ public class JavaTasks {
      * 2
      * 2
      */
-    //Сложность O(nlog(n))
-    //Ресурсоёмкость O(n)
+    //Сложность O(n)
+    //Ресурсоёмкость O(n): 4 байта на число (10 на время расширения массива) и от 11 до 16 байт на различное число
     static public void sortSequence(String inputName, String outputName) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inputName)));
-             FileWriter fileWriter = new FileWriter(outputName)) {
-
-            List<Integer> arr = new ArrayList<>();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                arr.add(Integer.parseInt(line));
-            }
-            reader.close();
-            if (arr.isEmpty()) {
+        IntSequence sequence = readSequence(inputName);
+        int size = sequence.size;
+        int[] numbers = sequence.values;
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(outputName), 1 << 16)) {
+            if (size == 0) {
                 return;
             }
+            IntCounter counter = new IntCounter(16);
+            for (int i = 0; i < size; i++) {
+                counter.increment(numbers[i]);
+            }
+            int repeatedNumber = counter.mostFrequent();
+            // Устойчивое сжатие на месте: остальные числа сдвигаются к началу, хвост заполняется повторяющимся
+            int end = 0;
+            for (int i = 0; i < size; i++) {
+                if (numbers[i] != repeatedNumber) {
+                    numbers[end++] = numbers[i];
+                }
+            }
+            Arrays.fill(numbers, end, size, repeatedNumber);
+            byte[] digits = new byte[12];
+            for (int i = 0; i < size; i++) {
+                writeInt(output, numbers[i], digits);
+            }
+        }
+    }
 
-            List<Integer> sorted = new ArrayList<>(arr);
-            sorted.sort(Integer::compareTo);
-            int maxRepeatings = 0;
-            int repeatedNumber = Integer.MAX_VALUE;
-            int currentRepeatings = 1;
-            int prevNumber = arr.get(0);
+    private static final class IntSequence {
+        int[] values = new int[1024];
+        int size = 0;
 
-            for (int i = 1; i < sorted.size(); i++) {
-                int number = sorted.get(i);
-                if ((number == prevNumber) && !(i == arr.size() - 1)) {
-                    currentRepeatings++;
-                    continue;
-                }
-                if (currentRepeatings > maxRepeatings) {
-                    repeatedNumber = prevNumber;
-                    maxRepeatings = currentRepeatings;
-                }
-                prevNumber = number;
-                currentRepeatings = 1;
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length + (values.length >> 1));
             }
-            for (int number : arr) {
-                if (number != repeatedNumber) {
-                    fileWriter.write(number + "\n");
+            values[size++] = value;
+        }
+    }
+
+    private static IntSequence readSequence(String inputName) throws IOException {
+        IntSequence sequence = new IntSequence();
+        try (InputStream input = new FileInputStream(inputName)) {
+            byte[] buffer = new byte[1 << 16];
+            long value = 0;
+            int digits = 0;
+            boolean negative = false;
+            boolean lineStarted = false;
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        if (value > Integer.MAX_VALUE + 1L) {
+                            throw new NumberFormatException("Number is too large");
+                        }
+                        digits++;
+                        lineStarted = true;
+                    } else if (b == '-' && !lineStarted) {
+                        negative = true;
+                        lineStarted = true;
+                    } else if (b == '\n') {
+                        if (lineStarted) {
+                            sequence.add(toInt(value, digits, negative));
+                        }
+                        value = 0;
+                        digits = 0;
+                        negative = false;
+                        lineStarted = false;
+                    } else if (b != '\r') {
+                        throw new NumberFormatException("Wrong number format");
+                    }
                 }
             }
-            for (int i = 0; i < maxRepeatings; i++) {
-                fileWriter.write(repeatedNumber + "\n");
+            if (lineStarted) {
+                sequence.add(toInt(value, digits, negative));
             }
         }
+        return sequence;
+    }
+
+    private static int toInt(long value, int digits, boolean negative) {
+        long result = negative ? -value : value;
+        if (digits == 0 || result > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Wrong number format");
+        }
+        return (int) result;
+    }
+
+    private static void writeInt(OutputStream output, int value, byte[] digits) throws IOException {
+        int position = digits.length;
+        digits[--position] = '\n';
+        long rest = Math.abs((long) value);
+        do {
+            digits[--position] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        output.write(digits, position, digits.length - position);
     }
 
     /**
@@ -223,7 +356,187 @@ public class JavaTasks {
      * <p>
      * Результат: second = [1 3 4 9 9 13 15 20 23 28]
      */
+    //Сложность O(m*log(n/m + 1)) сравнений, где m = first.length, если серии длинные, иначе O(n + m)
+    //Ресурсоёмкость O(1)
     static <T extends Comparable<T>> void mergeArrays(T[] first, T[] second) {
-        throw new NotImplementedError();
+        int firstEnd = first.length;
+        int secondEnd = second.length;
+        int i = 0;
+        int j = firstEnd;
+        int k = 0;
+        int firstWins = 0;
+        int secondWins = 0;
+        // Слияние с начала: k = i + (j - first.length) <= j, поэтому непрочитанные элементы second
+        // никогда не затираются. При равенстве вперёд идёт элемент first, поэтому слияние устойчиво
+        while (i < firstEnd && j < secondEnd) {
+            if (firstWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(second[j], first, i, firstEnd, true) - i;
+                System.arraycopy(first, i, second, k, count);
+                i += count;
+                k += count;
+                firstWins = 0;
+            } else if (secondWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(first[i], second, j, secondEnd, false) - j;
+                System.arraycopy(second, j, second, k, count);
+                j += count;
+                k += count;
+                secondWins = 0;
+            } else if (first[i].compareTo(second[j]) <= 0) {
+                second[k++] = first[i++];
+                firstWins++;
+                secondWins = 0;
+            } else {
+                second[k++] = second[j++];
+                secondWins++;
+                firstWins = 0;
+            }
+        }
+        // Если first исчерпан, оставшиеся элементы second уже на своих местах
+        System.arraycopy(first, i, second, k, firstEnd - i);
+    }
+
+    // Число побед подряд одного массива, после которого слияние переходит в режим галопа
+    private static final int MIN_GALLOP = 7;
+
+    /**
+     * Наименьшая позиция p из [begin, end], такая что все elements[begin, p) меньше key
+     * (или не больше key, если inclusive). Экспоненциальный поиск от левого края, затем двоичный.
+     */
+    private static <T extends Comparable<T>> int gallopFromLeft(T key, T[] elements, int begin, int end, boolean inclusive) {
+        int low = begin;
+        int offset = 1;
+        while (offset > 0 && offset <= end - begin && before(elements[begin + offset - 1], key, inclusive)) {
+            low = begin + offset;
+            offset <<= 1;
+        }
+        int high = offset > 0 ? Math.min(end, begin + offset - 1) : end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before(elements[middle], key, inclusive)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private static <T extends Comparable<T>> boolean before(T element, T key, boolean inclusive) {
+        int comparison = element.compareTo(key);
+        return comparison < 0 || inclusive && comparison == 0;
+    }
+
+    /**
+     * Слияние для массивов int: первые first.length ячеек second не используются.
+     * Эталон - обобщённый mergeArrays(T[], T[]); здесь та же логика, отличается только сравнение.
+     * Отдельная реализация (вместе с поиском gallopFromLeft) нужна, чтобы не упаковывать элементы
+     * и не вызывать compareTo или лямбду ни на каждом шаге, ни в режиме галопа.
+     */
+    //Сложность O(m*log(n/m + 1)), если серии длинные, иначе O(n + m)
+    //Ресурсоёмкость O(1)
+    static void mergeArrays(int[] first, int[] second) {
+        int firstEnd = first.length;
+        int secondEnd = second.length;
+        int i = 0;
+        int j = firstEnd;
+        int k = 0;
+        int firstWins = 0;
+        int secondWins = 0;
+        while (i < firstEnd && j < secondEnd) {
+            if (firstWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(second[j], first, i, firstEnd, true) - i;
+                System.arraycopy(first, i, second, k, count);
+                i += count;
+                k += count;
+                firstWins = 0;
+            } else if (secondWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(first[i], second, j, secondEnd, false) - j;
+                System.arraycopy(second, j, second, k, count);
+                j += count;
+                k += count;
+                secondWins = 0;
+            } else if (first[i] <= second[j]) {
+                second[k++] = first[i++];
+                firstWins++;
+                secondWins = 0;
+            } else {
+                second[k++] = second[j++];
+                secondWins++;
+                firstWins = 0;
+            }
+        }
+        System.arraycopy(first, i, second, k, firstEnd - i);
+    }
+
+    private static int gallopFromLeft(int key, int[] elements, int begin, int end, boolean inclusive) {
+        int low = begin;
+        int offset = 1;
+        while (offset > 0 && offset <= end - begin && before(elements[begin + offset - 1], key, inclusive)) {
+            low = begin + offset;
+            offset <<= 1;
+        }
+        int high = offset > 0 ? Math.min(end, begin + offset - 1) : end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before(elements[middle], key, inclusive)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private static boolean before(long element, long key, boolean inclusive) {
+        return element < key || inclusive && element == key;
+    }
+
+    /**
+     * Слияние для массивов long: та же логика, что в mergeArrays(int[], int[]), с эталоном в mergeArrays(T[], T[])
+     */
+    //Сложность O(m*log(n/m + 1)), если серии длинные, иначе O(n + m)
+    //Ресурсоёмкость O(1)
+    static void mergeArrays(long[] first, long[] second) {
+        int firstEnd = first.length;
+        int secondEnd = second.length;
+        int i = 0;
+        int j = firstEnd;
+        int k = 0;
+        int firstWins = 0;
+        int secondWins = 0;
+        while (i < firstEnd && j < secondEnd) {
+            if (firstWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(second[j], first, i, firstEnd, true) - i;
+                System.arraycopy(first, i, second, k, count);
+                i += count;
+                k += count;
+                firstWins = 0;
+            } else if (secondWins >= MIN_GALLOP) {
+                int count = gallopFromLeft(first[i], second, j, secondEnd, false) - j;
+                System.arraycopy(second, j, second, k, count);
+                j += count;
+                k += count;
+                secondWins = 0;
+            } else if (first[i] <= second[j]) {
+                second[k++] = first[i++];
+                firstWins++;
+                secondWins = 0;
+            } else {
+                second[k++] = second[j++];
+                secondWins++;
+                firstWins = 0;
+            }
+        }
+        System.arraycopy(first, i, second, k, firstEnd - i);
+    }
+
+    private static int gallopFromLeft(long key, long[] elements, int begin, int end, boolean inclusive) {
+        int low = begin;
+        int offset = 1;
+        while (offset > 0 && offset <= end - begin && before(elements[begin + offset - 1], key, inclusive)) {
+            low = begin + offset;
+            offset <<= 1;
+        }
+        int high = offset > 0 ? Math.min(end, begin + offset - 1) : end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before(elements[middle], key, inclusive)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
     }
 }
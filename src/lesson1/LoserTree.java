@@ -0,0 +1,96 @@
+package lesson1;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Дерево проигравших для k-путевого слияния отсортированных источников.
+ * <p>
+ * Во внутренних узлах хранятся номера источников, проигравших сравнение в этом узле,
+ * в нулевом узле - номер победителя. После извлечения минимума перестраивается
+ * только путь от листа победителя до корня: log(k) сравнений на элемент.
+ * При равенстве побеждает источник с меньшим номером, поэтому слияние устойчиво.
+ */
+class LoserTree<T> {
+
+    interface Source<T> {
+        /**
+         * Следующий элемент источника или null, если источник исчерпан
+         */
+        T next() throws IOException;
+    }
+
+    private final List<? extends Source<T>> sources;
+    private final Comparator<? super T> comparator;
+    private final Object[] heads;
+    private final int[] tree;
+
+    LoserTree(List<? extends Source<T>> sources, Comparator<? super T> comparator) throws IOException {
+        this.sources = sources;
+        this.comparator = comparator;
+        int k = sources.size();
+        heads = new Object[k];
+        tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            heads[i] = sources.get(i).next();
+        }
+        if (k > 0) {
+            tree[0] = k == 1 ? 0 : build(1);
+        }
+    }
+
+    private int build(int node) {
+        int k = sources.size();
+        if (node >= k) {
+            return node - k;
+        }
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (beats(left, right)) {
+            tree[node] = right;
+            return left;
+        } else {
+            tree[node] = left;
+            return right;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean beats(int first, int second) {
+        T a = (T) heads[first];
+        T b = (T) heads[second];
+        if (a == null || b == null) {
+            return b == null && (a != null || first < second);
+        }
+        int comparison = comparator.compare(a, b);
+        return comparison < 0 || comparison == 0 && first < second;
+    }
+
+    /**
+     * Наименьший из текущих элементов всех источников или null, если все источники исчерпаны
+     */
+    //Сложность O(log(k))
+    @SuppressWarnings("unchecked")
+    T poll() throws IOException {
+        int k = sources.size();
+        if (k == 0) {
+            return null;
+        }
+        int winner = tree[0];
+        T result = (T) heads[winner];
+        if (result == null) {
+            return null;
+        }
+        heads[winner] = sources.get(winner).next();
+        for (int node = (winner + k) / 2; node > 0; node /= 2) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+        return result;
+    }
+}
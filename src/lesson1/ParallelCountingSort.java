@@ -0,0 +1,163 @@
+package lesson1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Сортировка подсчётом строк файла с небольшим ограниченным множеством ключей.
+ * <p>
+ * Входной файл отображается в память кусками, границы которых совпадают с границами строк.
+ * Каждый кусок разбирается в отдельной задаче ForkJoinPool в собственную гистограмму,
+ * гистограммы складываются, после чего строки выводятся по возрастанию ключа.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ParallelCountingSort {
+
+    /**
+     * Формат строки: разбор строки в ключ из диапазона [0, keysNumber()) и обратное форматирование
+     */
+    public interface KeyFormat {
+        int keysNumber();
+
+        /**
+         * Разбор строки buffer[from, to) без символов конца строки.
+         * При неверном формате бросает IllegalArgumentException.
+         */
+        int parse(ByteBuffer buffer, int from, int to);
+
+        /**
+         * Строка для ключа key без символа конца строки
+         */
+        String format(int key);
+    }
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+    static final int OUTPUT_BUFFER_SIZE = 1 << 22;
+
+    public static void sort(String inputName, String outputName, KeyFormat format) throws IOException {
+        sort(inputName, outputName, format, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    //Сложность O(n / p + k * log(p)), где p - число потоков, k - число ключей
+    //Ресурсоёмкость O(k * p)
+    public static void sort(String inputName, String outputName, KeyFormat format,
+                            ForkJoinPool pool, int maxChunkSize) throws IOException {
+        int[] repeatings;
+        try (FileChannel input = FileChannel.open(Paths.get(inputName), StandardOpenOption.READ)) {
+            repeatings = count(input, format, pool, maxChunkSize);
+        }
+        byte[][] lines = new byte[format.keysNumber()][];
+        for (int key = 0; key < lines.length; key++) {
+            if (repeatings[key] > 0) {
+                lines[key] = (format.format(key) + "\n").getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+        try (FileChannel output = FileChannel.open(Paths.get(outputName),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRepeated(output, lines, repeatings);
+        }
+    }
+
+    static int[] count(FileChannel input, KeyFormat format, ForkJoinPool pool, int maxChunkSize) throws IOException {
+        long[] bounds = FileChunks.splitAtLines(input, FileChunks.chunkSize(input.size(), pool.getParallelism(), maxChunkSize));
+        if (bounds.length == 1) {
+            return new int[format.keysNumber()];
+        }
+        try {
+            return pool.invoke(new CountTask(input, format, bounds, 0, bounds.length - 1));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class CountTask extends RecursiveTask<int[]> {
+        private final FileChannel input;
+        private final KeyFormat format;
+        private final long[] bounds;
+        private final int fromChunk;
+        private final int toChunk;
+
+        CountTask(FileChannel input, KeyFormat format, long[] bounds, int fromChunk, int toChunk) {
+            this.input = input;
+            this.format = format;
+            this.bounds = bounds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (toChunk - fromChunk == 1) {
+                try {
+                    return countChunk(bounds[fromChunk], bounds[toChunk]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            CountTask left = new CountTask(input, format, bounds, fromChunk, middle);
+            CountTask right = new CountTask(input, format, bounds, middle, toChunk);
+            left.fork();
+            int[] result = right.compute();
+            int[] other = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] += other[i];
+            }
+            return result;
+        }
+
+        private int[] countChunk(long from, long to) throws IOException {
+            int[] histogram = new int[format.keysNumber()];
+            MappedByteBuffer buffer = input.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            int limit = buffer.limit();
+            int lineStart = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    histogram[format.parse(buffer, lineStart, lineEnd(buffer, lineStart, i))]++;
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < limit) {
+                histogram[format.parse(buffer, lineStart, lineEnd(buffer, lineStart, limit))]++;
+            }
+            return histogram;
+        }
+
+        private static int lineEnd(ByteBuffer buffer, int lineStart, int end) {
+            return end > lineStart && buffer.get(end - 1) == '\r' ? end - 1 : end;
+        }
+    }
+
+    /**
+     * Вывод lines[i] repeatings[i] раз через один большой прямой буфер, без выделения памяти на строку
+     */
+    static void writeRepeated(FileChannel output, byte[][] lines, int[] repeatings) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        for (int i = 0; i < repeatings.length; i++) {
+            byte[] line = lines[i];
+            for (int j = 0; j < repeatings[i]; j++) {
+                if (buffer.remaining() < line.length) {
+                    flush(output, buffer);
+                }
+                buffer.put(line);
+            }
+        }
+        flush(output, buffer);
+    }
+
+    private static void flush(FileChannel output, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -3,6 +3,11 @@ package lesson1;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 @SuppressWarnings("WeakerAccess")
 public class Sorts {
@@ -31,30 +36,110 @@ public class Sorts {
         }
     }
 
-    private static void merge(int[] elements, int begin, int middle, int end) {
-        int[] left = Arrays.copyOfRange(elements, begin, middle);
-        int[] right = Arrays.copyOfRange(elements, middle, end);
-        int li = 0, ri = 0;
+    private static final int MIN_RUN = 32;
+
+    private static void reverse(int[] elements, int begin, int end) {
+        for (int i = begin, j = end - 1; i < j; i++, j--) {
+            swap(elements, i, j);
+        }
+    }
+
+    private static int ascendingEnd(int[] elements, int begin, int end) {
+        int i = begin + 1;
+        while (i < end && elements[i - 1] <= elements[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Подготовка естественных серий: строго убывающие серии разворачиваются,
+     * серии короче MIN_RUN дополняются сортировкой вставками. Возвращает число серий.
+     */
+    private static int prepareRuns(int[] elements) {
+        int length = elements.length;
+        int runs = 0;
+        for (int begin = 0; begin < length; runs++) {
+            int end = begin + 1;
+            if (end < length && elements[end] < elements[begin]) {
+                while (end < length && elements[end] < elements[end - 1]) {
+                    end++;
+                }
+                reverse(elements, begin, end);
+            } else {
+                end = ascendingEnd(elements, begin, length);
+            }
+            if (end - begin < MIN_RUN && end < length) {
+                end = Math.min(length, begin + MIN_RUN);
+                insertionSort(elements, begin, end);
+            }
+            begin = end;
+        }
+        return runs;
+    }
+
+    private static void merge(int[] source, int begin, int middle, int end, int[] destination) {
+        int li = begin, ri = middle;
         for (int i = begin; i < end; i++) {
-            if (li < left.length && (ri == right.length || left[li] <= right[ri])) {
-                elements[i] = left[li++];
+            if (li < middle && (ri == end || source[li] <= source[ri])) {
+                destination[i] = source[li++];
             }
             else {
-                elements[i] = right[ri++];
+                destination[i] = source[ri++];
             }
         }
     }
 
-    private static void mergeSort(int[] elements, int begin, int end) {
-        if (end - begin <= 1) return;
-        int middle = (begin + end) / 2;
-        mergeSort(elements, begin, middle);
-        mergeSort(elements, middle, end);
-        merge(elements, begin, middle, end);
+    /**
+     * Один проход слияния соседних упорядоченных серий из source в destination.
+     * Возвращает число серий в destination.
+     */
+    private static int mergePass(int[] source, int[] destination, int length) {
+        int runs = 0;
+        for (int begin = 0; begin < length; runs++) {
+            int middle = ascendingEnd(source, begin, length);
+            if (middle == length) {
+                System.arraycopy(source, begin, destination, begin, length - begin);
+                begin = length;
+            } else {
+                int end = ascendingEnd(source, middle, length);
+                merge(source, begin, middle, end, destination);
+                begin = end;
+            }
+        }
+        return runs;
     }
 
     public static void mergeSort(int[] elements) {
-        mergeSort(elements, 0, elements.length);
+        mergeSort(elements, null);
+    }
+
+    /**
+     * Восходящая сортировка слиянием естественных серий без рекурсии.
+     * Слияние идёт попеременно из elements в buffer и обратно, поэтому при переданном
+     * буфере длины не меньше elements.length сортировка не выделяет память.
+     * Если buffer равен null, буфер выделяется один раз и только при необходимости.
+     * Уже упорядоченный вход распознаётся за один проход.
+     */
+    //Сложность O(n*log(n)), O(n) для упорядоченного входа
+    //Ресурсоёмкость O(n)
+    public static void mergeSort(int[] elements, int[] buffer) {
+        if (buffer != null && buffer.length < elements.length) {
+            throw new IllegalArgumentException("Buffer is shorter than the array: " + buffer.length);
+        }
+        if (prepareRuns(elements) <= 1) return;
+        int[] source = elements;
+        int[] destination = buffer != null ? buffer : new int[elements.length];
+        int runs;
+        do {
+            runs = mergePass(source, destination, elements.length);
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        } while (runs > 1);
+        if (source != elements) {
+            System.arraycopy(source, 0, elements, 0, elements.length);
+        }
     }
 
     private static void heapify(int[] elements, int start, int length) {
@@ -126,6 +211,352 @@ public class Sorts {
         quickSort(elements, 0, elements.length - 1);
     }
 
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static void insertionSort(int[] elements, int begin, int end) {
+        for (int i = begin + 1; i < end; i++) {
+            int current = elements[i];
+            int j = i - 1;
+            for (; j >= begin; j--) {
+                if (elements[j] > current) elements[j+1] = elements[j];
+                else break;
+            }
+            elements[j+1] = current;
+        }
+    }
+
+    private static void swap(int[] elements, int i, int j) {
+        int temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+    }
+
+    private static void siftDown(int[] elements, int offset, int start, int length) {
+        int current = elements[offset + start];
+        int child;
+        while ((child = 2 * start + 1) < length) {
+            if (child + 1 < length && elements[offset + child + 1] > elements[offset + child]) {
+                child++;
+            }
+            if (elements[offset + child] <= current) break;
+            elements[offset + start] = elements[offset + child];
+            start = child;
+        }
+        elements[offset + start] = current;
+    }
+
+    private static void heapSort(int[] elements, int begin, int end) {
+        int length = end - begin;
+        for (int start = length / 2 - 1; start >= 0; start--) {
+            siftDown(elements, begin, start, length);
+        }
+        for (int j = length - 1; j >= 1; j--) {
+            swap(elements, begin, begin + j);
+            siftDown(elements, begin, 0, j);
+        }
+    }
+
+    private static int medianOfThree(int a, int b, int c) {
+        if (a > b) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        return c <= a ? a : Math.min(b, c);
+    }
+
+    private static void introSort(int[] elements, int min, int max, int depthLimit) {
+        while (max - min + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(elements, min, max + 1);
+                return;
+            }
+            int x = medianOfThree(elements[min], elements[(min + max) >>> 1], elements[max]);
+            int left = min, right = max;
+            while (left <= right) {
+                while (elements[left] < x) {
+                    left++;
+                }
+                while (elements[right] > x) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(elements, left++, right--);
+                }
+            }
+            // Рекурсия в меньшую часть, цикл по большей: глубина стека O(log(n))
+            if (right - min < max - left) {
+                introSort(elements, min, right, depthLimit);
+                min = left;
+            } else {
+                introSort(elements, left, max, depthLimit);
+                max = right;
+            }
+        }
+        insertionSort(elements, min, max + 1);
+    }
+
+    /**
+     * Интроспективная сортировка: быстрая сортировка с медианой из трёх,
+     * сортировка вставками на коротких отрезках и пирамидальная сортировка
+     * при превышении глубины 2*log(n), поэтому O(n*log(n)) и на худших входах.
+     */
+    //Сложность O(n*log(n))
+    //Ресурсоёмкость O(log(n))
+    public static void introSort(int[] elements) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(elements.length));
+        introSort(elements, 0, elements.length - 1, depthLimit);
+    }
+
+    private static void dualPivotQuickSort(int[] elements, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(elements, low, high + 1);
+                return;
+            }
+            int third = (high - low + 1) / 3;
+            swap(elements, low, low + third);
+            swap(elements, high, high - third);
+            if (elements[low] > elements[high]) {
+                swap(elements, low, high);
+            }
+            int p = elements[low], q = elements[high];
+            int lt = low + 1, gt = high - 1;
+            for (int i = lt; i <= gt; i++) {
+                if (elements[i] < p) {
+                    swap(elements, i, lt++);
+                } else if (elements[i] > q) {
+                    while (elements[gt] > q && i < gt) {
+                        gt--;
+                    }
+                    swap(elements, i, gt--);
+                    if (elements[i] < p) {
+                        swap(elements, i, lt++);
+                    }
+                }
+            }
+            swap(elements, low, --lt);
+            swap(elements, high, ++gt);
+            // Части: [low, lt - 1] < p, [middleLow, middleHigh] между p и q, [gt + 1, high] > q.
+            int middleLow = lt + 1, middleHigh = gt - 1;
+            if (p == q) {
+                middleLow = gt;
+            } else if (middleHigh - middleLow > (high - low) / 2) {
+                // Средняя часть слишком велика: вероятно, в ней много копий p и q (например, на входе
+                // всего два значения). Как в JDK, они переносятся к краям средней части и исключаются
+                int i = middleLow;
+                while (i <= middleHigh) {
+                    if (elements[i] == p) {
+                        swap(elements, i++, middleLow++);
+                    } else if (elements[i] == q) {
+                        swap(elements, i, middleHigh--);
+                    } else {
+                        i++;
+                    }
+                }
+            }
+            // Рекурсия в две меньшие части, цикл по наибольшей
+            int leftSize = lt - low, middleSize = middleHigh - middleLow + 1, rightSize = high - gt;
+            if (leftSize >= middleSize && leftSize >= rightSize) {
+                dualPivotQuickSort(elements, middleLow, middleHigh, depthLimit);
+                dualPivotQuickSort(elements, gt + 1, high, depthLimit);
+                high = lt - 1;
+            } else if (rightSize >= middleSize) {
+                dualPivotQuickSort(elements, low, lt - 1, depthLimit);
+                dualPivotQuickSort(elements, middleLow, middleHigh, depthLimit);
+                low = gt + 1;
+            } else {
+                dualPivotQuickSort(elements, low, lt - 1, depthLimit);
+                dualPivotQuickSort(elements, gt + 1, high, depthLimit);
+                low = middleLow;
+                high = middleHigh;
+            }
+        }
+        insertionSort(elements, low, high + 1);
+    }
+
+    /**
+     * Быстрая сортировка с двумя опорными элементами (схема Ярославского),
+     * опорные элементы берутся из первой и последней трети отрезка.
+     * Копии опорных элементов исключаются из большой средней части, а при превышении
+     * глубины 2*log(n) отрезок досортировывается пирамидальной сортировкой, как в introSort.
+     */
+    //Сложность O(n*log(n))
+    //Ресурсоёмкость O(log(n))
+    public static void dualPivotQuickSort(int[] elements) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(elements.length));
+        dualPivotQuickSort(elements, 0, elements.length - 1, depthLimit);
+    }
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
+    private static int lowerBound(int[] elements, int begin, int end, int value) {
+        while (begin < end) {
+            int middle = (begin + end) >>> 1;
+            if (elements[middle] < value) begin = middle + 1;
+            else end = middle;
+        }
+        return begin;
+    }
+
+    private static void merge(int[] source, int begin1, int end1, int begin2, int end2,
+                              int[] destination, int position) {
+        while (begin1 < end1 && begin2 < end2) {
+            destination[position++] = source[begin1] <= source[begin2] ? source[begin1++] : source[begin2++];
+        }
+        System.arraycopy(source, begin1, destination, position, end1 - begin1);
+        System.arraycopy(source, begin2, destination, position + end1 - begin1, end2 - begin2);
+    }
+
+    /**
+     * Параллельное слияние: средний элемент большей половины ищется двоичным поиском в меньшей,
+     * после чего обе пары частей сливаются независимо
+     */
+    private static class MergeTask extends RecursiveAction {
+        private final int[] source, destination;
+        private final int begin1, end1, begin2, end2, position, threshold;
+
+        MergeTask(int[] source, int begin1, int end1, int begin2, int end2,
+                  int[] destination, int position, int threshold) {
+            this.source = source;
+            this.begin1 = begin1;
+            this.end1 = end1;
+            this.begin2 = begin2;
+            this.end2 = end2;
+            this.destination = destination;
+            this.position = position;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = end1 - begin1, length2 = end2 - begin2;
+            if (length1 + length2 <= threshold) {
+                merge(source, begin1, end1, begin2, end2, destination, position);
+            } else if (length1 < length2) {
+                new MergeTask(source, begin2, end2, begin1, end1, destination, position, threshold).compute();
+            } else {
+                int middle1 = (begin1 + end1) >>> 1;
+                int middle2 = lowerBound(source, begin2, end2, source[middle1]);
+                int middlePosition = position + (middle1 - begin1) + (middle2 - begin2);
+                destination[middlePosition] = source[middle1];
+                invokeAll(new MergeTask(source, begin1, middle1, begin2, middle2, destination, position, threshold),
+                        new MergeTask(source, middle1 + 1, end1, middle2, end2,
+                                destination, middlePosition + 1, threshold));
+            }
+        }
+    }
+
+    /**
+     * Сортировка elements[begin, end); результат оказывается в buffer, если toBuffer, иначе в elements
+     */
+    private static class MergeSortTask extends RecursiveAction {
+        private final int[] elements, buffer;
+        private final int begin, end, threshold;
+        private final boolean toBuffer;
+
+        MergeSortTask(int[] elements, int[] buffer, int begin, int end, boolean toBuffer, int threshold) {
+            this.elements = elements;
+            this.buffer = buffer;
+            this.begin = begin;
+            this.end = end;
+            this.toBuffer = toBuffer;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin <= threshold) {
+                introSort(elements, begin, end - 1, 2 * (32 - Integer.numberOfLeadingZeros(end - begin)));
+                if (toBuffer) {
+                    System.arraycopy(elements, begin, buffer, begin, end - begin);
+                }
+                return;
+            }
+            int middle = (begin + end) >>> 1;
+            invokeAll(new MergeSortTask(elements, buffer, begin, middle, !toBuffer, threshold),
+                    new MergeSortTask(elements, buffer, middle, end, !toBuffer, threshold));
+            int[] source = toBuffer ? elements : buffer;
+            int[] destination = toBuffer ? buffer : elements;
+            new MergeTask(source, begin, middle, middle, end, destination, begin, threshold).compute();
+        }
+    }
+
+    public static void parallelMergeSort(int[] elements) {
+        parallelMergeSort(elements, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Параллельная сортировка слиянием: отрезки не длиннее threshold сортируются последовательно,
+     * половины сортируются и сливаются в отдельных задачах пула
+     */
+    //Сложность O(n*log(n) / p + log(n)^3)
+    //Ресурсоёмкость O(n)
+    public static void parallelMergeSort(int[] elements, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold should be positive: " + threshold);
+        }
+        if (elements.length <= threshold) {
+            introSort(elements);
+            return;
+        }
+        pool.invoke(new MergeSortTask(elements, new int[elements.length], 0, elements.length, false, threshold));
+    }
+
+    private static class QuickSortTask extends RecursiveAction {
+        private final int[] elements;
+        private final int min, max, depthLimit, threshold;
+
+        QuickSortTask(int[] elements, int min, int max, int depthLimit, int threshold) {
+            this.elements = elements;
+            this.min = min;
+            this.max = max;
+            this.depthLimit = depthLimit;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (max - min + 1 <= threshold || depthLimit == 0) {
+                introSort(elements, min, max, 2 * (32 - Integer.numberOfLeadingZeros(max - min + 1)));
+                return;
+            }
+            int x = medianOfThree(elements[min], elements[(min + max) >>> 1], elements[max]);
+            int left = min, right = max;
+            while (left <= right) {
+                while (elements[left] < x) {
+                    left++;
+                }
+                while (elements[right] > x) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(elements, left++, right--);
+                }
+            }
+            invokeAll(new QuickSortTask(elements, min, right, depthLimit - 1, threshold),
+                    new QuickSortTask(elements, left, max, depthLimit - 1, threshold));
+        }
+    }
+
+    public static void parallelQuickSort(int[] elements) {
+        parallelQuickSort(elements, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Параллельная быстрая сортировка: после разбиения части сортируются в отдельных задачах пула.
+     * Отрезки не длиннее threshold и отрезки за пределом глубины 2*log(n) сортируются introSort.
+     */
+    //Сложность O(n*log(n)) - в среднем; разбиение верхнего уровня последовательно, поэтому ускорение ограничено
+    //Ресурсоёмкость O(log(n))
+    public static void parallelQuickSort(int[] elements, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold should be positive: " + threshold);
+        }
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(elements.length));
+        pool.invoke(new QuickSortTask(elements, 0, elements.length - 1, depthLimit, threshold));
+    }
+
     public static int[] countingSort(int[] elements, int limit) {
         int[] count = new int[limit + 1];
         for (int element: elements) {
@@ -141,4 +572,229 @@ public class Sorts {
         }
         return out;
     }
-}
\ No newline at end of file
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int PARALLEL_HISTOGRAM_THRESHOLD = 1 << 16;
+
+    private interface RangeHistogram {
+        int[][] compute(int begin, int end);
+    }
+
+    private static class HistogramTask extends RecursiveTask<int[][]> {
+        private final RangeHistogram histogram;
+        private final int begin, end;
+
+        HistogramTask(RangeHistogram histogram, int begin, int end) {
+            this.histogram = histogram;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (end - begin <= PARALLEL_HISTOGRAM_THRESHOLD) {
+                return histogram.compute(begin, end);
+            }
+            int middle = (begin + end) >>> 1;
+            HistogramTask left = new HistogramTask(histogram, begin, middle);
+            left.fork();
+            int[][] result = new HistogramTask(histogram, middle, end).compute();
+            int[][] other = left.join();
+            for (int pass = 0; pass < result.length; pass++) {
+                for (int digit = 0; digit < RADIX; digit++) {
+                    result[pass][digit] += other[pass][digit];
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Гистограммы цифр всех проходов сразу; на больших массивах считаются параллельно по кускам
+     */
+    private static int[][] histograms(RangeHistogram histogram, int length) {
+        if (length <= PARALLEL_HISTOGRAM_THRESHOLD) {
+            return histogram.compute(0, length);
+        }
+        return ForkJoinPool.commonPool().invoke(new HistogramTask(histogram, 0, length));
+    }
+
+    /**
+     * Перевод гистограммы прохода в позиции начала корзин.
+     * Возвращает false, если у всех ключей одна и та же цифра и проход можно пропустить.
+     */
+    private static boolean toOffsets(int[] counts, int length) {
+        int sum = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int count = counts[digit];
+            if (count == length) return false;
+            counts[digit] = sum;
+            sum += count;
+        }
+        return true;
+    }
+
+    private static int[][] intHistogram(int[] elements, int begin, int end, int passes) {
+        int[][] counts = new int[passes][RADIX];
+        for (int i = begin; i < end; i++) {
+            int key = elements[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Поразрядная сортировка (LSD) по 11 бит за проход для всего диапазона int:
+     * знаковый бит инвертируется, чтобы отрицательные ключи шли раньше.
+     * Проходы, в которых цифра у всех ключей одинакова, пропускаются.
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
+    public static void radixSort(int[] elements) {
+        int length = elements.length;
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(elements, 0, length);
+            return;
+        }
+        int passes = (Integer.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+        int[][] counts = histograms((begin, end) -> intHistogram(elements, begin, end, passes), length);
+        int[] source = elements;
+        int[] destination = null;
+        for (int pass = 0; pass < passes; pass++) {
+            int[] offsets = counts[pass];
+            if (!toOffsets(offsets, length)) continue;
+            if (destination == null) {
+                destination = new int[length];
+            }
+            int shift = pass * RADIX_BITS;
+            for (int i = 0; i < length; i++) {
+                int element = source[i];
+                destination[offsets[((element ^ Integer.MIN_VALUE) >>> shift) & RADIX_MASK]++] = element;
+            }
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+        if (source != elements) {
+            System.arraycopy(source, 0, elements, 0, length);
+        }
+    }
+
+    private static int[][] longHistogram(long[] elements, int begin, int end, int lowBit, int passes) {
+        int[][] counts = new int[passes][RADIX];
+        for (int i = begin; i < end; i++) {
+            long key = elements[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(int) (key >>> (lowBit + pass * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Поразрядная сортировка (LSD) по 11 бит за проход для всего диапазона long
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
+    public static void radixSort(long[] elements) {
+        if (elements.length <= INSERTION_SORT_THRESHOLD) {
+            Arrays.sort(elements);
+            return;
+        }
+        radixSort(elements, null, 0);
+    }
+
+    /**
+     * Сортировка keys по битам начиная с lowBit; младшие биты сохраняют исходный порядок,
+     * так как LSD устойчива. Если payload не null, его элементы переставляются вместе с ключами.
+     */
+    private static void radixSort(long[] keys, int[] payload, int lowBit) {
+        int length = keys.length;
+        int passes = (Long.SIZE - lowBit + RADIX_BITS - 1) / RADIX_BITS;
+        int[][] counts = histograms((begin, end) -> longHistogram(keys, begin, end, lowBit, passes), length);
+        long[] source = keys;
+        long[] destination = null;
+        int[] payloadSource = payload;
+        int[] payloadDestination = null;
+        for (int pass = 0; pass < passes; pass++) {
+            int[] offsets = counts[pass];
+            if (!toOffsets(offsets, length)) continue;
+            if (destination == null) {
+                destination = new long[length];
+                payloadDestination = payload == null ? null : new int[length];
+            }
+            int shift = lowBit + pass * RADIX_BITS;
+            if (payload == null) {
+                for (int i = 0; i < length; i++) {
+                    long element = source[i];
+                    destination[offsets[(int) ((element ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK]++] = element;
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    long element = source[i];
+                    int position = offsets[(int) ((element ^ Long.MIN_VALUE) >>> shift) & RADIX_MASK]++;
+                    destination[position] = element;
+                    payloadDestination[position] = payloadSource[i];
+                }
+                int[] payloadTemp = payloadSource;
+                payloadSource = payloadDestination;
+                payloadDestination = payloadTemp;
+            }
+            long[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, 0, length);
+            if (payload != null) {
+                System.arraycopy(payloadSource, 0, payload, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Устойчивая сортировка объектов по целочисленному ключу без вызовов compareTo.
+     * Ключ и номер элемента упаковываются в один long (ключ в старших 32 битах),
+     * упакованный массив сортируется поразрядно только по битам ключа,
+     * после чего объекты переставляются за один проход.
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
+    public static <T> void sortByIntKey(T[] elements, ToIntFunction<? super T> key) {
+        int length = elements.length;
+        long[] packed = new long[length];
+        for (int i = 0; i < length; i++) {
+            packed[i] = ((long) key.applyAsInt(elements[i]) << Integer.SIZE) | i;
+        }
+        radixSort(packed, null, Integer.SIZE);
+        T[] copy = elements.clone();
+        for (int i = 0; i < length; i++) {
+            elements[i] = copy[(int) packed[i]];
+        }
+    }
+
+    /**
+     * Устойчивая сортировка объектов по ключу типа long: ключи сортируются поразрядно
+     * вместе с массивом номеров элементов, затем объекты переставляются за один проход
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
+    public static <T> void sortByLongKey(T[] elements, ToLongFunction<? super T> key) {
+        int length = elements.length;
+        long[] keys = new long[length];
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.applyAsLong(elements[i]);
+            indices[i] = i;
+        }
+        radixSort(keys, indices, 0);
+        T[] copy = elements.clone();
+        for (int i = 0; i < length; i++) {
+            elements[i] = copy[indices[i]];
+        }
+    }
+}
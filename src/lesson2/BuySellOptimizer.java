@@ -0,0 +1,288 @@
+package lesson2;
+
+import kotlin.Pair;
+import lesson1.FileChunks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Поиск моментов покупки и продажи с наибольшей прибылью в файле цен (по одной цене на строку).
+ * <p>
+ * Файл отображается в память окнами и разбирается побайтно без создания строк,
+ * состояние разбора и поиска занимает O(1) памяти (алгоритм Кадане).
+ * Параллельный вариант делит файл на куски по границам строк и сливает сводки кусков,
+ * так как слияние сводок ассоциативно.
+ * <p>
+ * Из нескольких пар с одинаковой прибылью выбирается пара с самой ранней продажей,
+ * а для неё - с самой ранней покупкой.
+ */
+@SuppressWarnings("WeakerAccess")
+public class BuySellOptimizer {
+
+    static final int WINDOW_SIZE = 1 << 26;
+    static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+
+    // Больше цифр в цене, чем в Integer.MAX_VALUE, не бывает
+    private static final int MAX_DIGITS = 10;
+
+    /**
+     * Сводка последовательности цен: число цен, самая ранняя минимальная и максимальная цена
+     * и лучшая пара (покупка, продажа). Номера строк отсчитываются с единицы от начала последовательности.
+     */
+    static final class Summary {
+        long lines = 0;
+        int minPrice;
+        long minLine;
+        int maxPrice;
+        long maxLine;
+        long bestProfit = Long.MIN_VALUE;
+        long bestBuy = 0;
+        long bestSell = 0;
+
+        boolean hasPair() {
+            return bestSell != 0;
+        }
+
+        /**
+         * Добавление следующей цены
+         */
+        //Сложность O(1)
+        void add(int price) {
+            long line = ++lines;
+            if (line == 1) {
+                minPrice = price;
+                maxPrice = price;
+                minLine = line;
+                maxLine = line;
+                return;
+            }
+            offer((long) price - minPrice, minLine, line);
+            if (price < minPrice) {
+                minPrice = price;
+                minLine = line;
+            }
+            if (price > maxPrice) {
+                maxPrice = price;
+                maxLine = line;
+            }
+        }
+
+        private void offer(long profit, long buy, long sell) {
+            if (profit > bestProfit || profit == bestProfit && (sell < bestSell || sell == bestSell && buy < bestBuy)) {
+                bestProfit = profit;
+                bestBuy = buy;
+                bestSell = sell;
+            }
+        }
+
+        /**
+         * Добавление цены перед началом последовательности: номера остальных строк сдвигаются на единицу
+         */
+        //Сложность O(1)
+        void prepend(int price) {
+            if (lines++ == 0) {
+                minPrice = price;
+                maxPrice = price;
+                minLine = 1;
+                maxLine = 1;
+                return;
+            }
+            minLine++;
+            maxLine++;
+            if (hasPair()) {
+                bestBuy++;
+                bestSell++;
+            }
+            offer((long) maxPrice - price, 1, maxLine);
+            if (price <= minPrice) {
+                minPrice = price;
+                minLine = 1;
+            }
+            if (price >= maxPrice) {
+                maxPrice = price;
+                maxLine = 1;
+            }
+        }
+
+        void copyFrom(Summary source) {
+            lines = source.lines;
+            minPrice = source.minPrice;
+            minLine = source.minLine;
+            maxPrice = source.maxPrice;
+            maxLine = source.maxLine;
+            bestProfit = source.bestProfit;
+            bestBuy = source.bestBuy;
+            bestSell = source.bestSell;
+        }
+
+        /**
+         * Сводка последовательности left, за которой следует right. Аргументы не изменяются.
+         */
+        //Сложность O(1)
+        static Summary merge(Summary left, Summary right) {
+            Summary result = new Summary();
+            if (left.lines == 0 || right.lines == 0) {
+                result.copyFrom(left.lines == 0 ? right : left);
+                return result;
+            }
+            long offset = left.lines;
+            result.lines = left.lines + right.lines;
+            if (right.minPrice < left.minPrice) {
+                result.minPrice = right.minPrice;
+                result.minLine = right.minLine + offset;
+            } else {
+                result.minPrice = left.minPrice;
+                result.minLine = left.minLine;
+            }
+            if (right.maxPrice > left.maxPrice) {
+                result.maxPrice = right.maxPrice;
+                result.maxLine = right.maxLine + offset;
+            } else {
+                result.maxPrice = left.maxPrice;
+                result.maxLine = left.maxLine;
+            }
+            if (left.hasPair()) {
+                result.offer(left.bestProfit, left.bestBuy, left.bestSell);
+            }
+            result.offer((long) right.maxPrice - left.minPrice, left.minLine, right.maxLine + offset);
+            if (right.hasPair()) {
+                result.offer(right.bestProfit, right.bestBuy + offset, right.bestSell + offset);
+            }
+            return result;
+        }
+
+        Pair<Integer, Integer> toPair() {
+            if (!hasPair()) {
+                throw new IllegalArgumentException("At least two prices expected, found " + lines);
+            }
+            return new Pair<>(Math.toIntExact(bestBuy), Math.toIntExact(bestSell));
+        }
+    }
+
+    /**
+     * Разбор цен из последовательных буферов. Число может быть разрезано границей буфера,
+     * поэтому текущее число хранится между вызовами parse.
+     */
+    static final class Parser {
+        final Summary summary = new Summary();
+        private long value = 0;
+        private int digits = 0;
+        private boolean carriageReturn = false;
+
+        void parse(ByteBuffer buffer) {
+            for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b >= '0' && b <= '9' && !carriageReturn) {
+                    if (++digits > MAX_DIGITS) {
+                        throw new IllegalArgumentException("Price is too long at line " + (summary.lines + 1));
+                    }
+                    value = value * 10 + (b - '0');
+                } else if (b == '\n') {
+                    endLine();
+                } else if (b == '\r' && digits > 0 && !carriageReturn) {
+                    carriageReturn = true;
+                } else {
+                    throw new IllegalArgumentException("Wrong price format at line " + (summary.lines + 1));
+                }
+            }
+        }
+
+        private void endLine() {
+            if (digits == 0 || value == 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Wrong price at line " + (summary.lines + 1));
+            }
+            summary.add((int) value);
+            value = 0;
+            digits = 0;
+            carriageReturn = false;
+        }
+
+        /**
+         * Завершение разбора: последняя строка может не оканчиваться переводом строки
+         */
+        Summary finish() {
+            if (digits > 0) {
+                endLine();
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Однопроходный поиск: файл читается последовательными окнами отображения
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(1)
+    public static Pair<Integer, Integer> optimize(String inputName) throws IOException {
+        try (FileChannel input = FileChannel.open(Paths.get(inputName), StandardOpenOption.READ)) {
+            return summarize(input, 0, input.size()).toPair();
+        }
+    }
+
+    private static Summary summarize(FileChannel input, long from, long to) throws IOException {
+        Parser parser = new Parser();
+        for (long position = from; position < to; position += WINDOW_SIZE) {
+            parser.parse(input.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, to - position)));
+        }
+        return parser.finish();
+    }
+
+    public static Pair<Integer, Integer> optimizeParallel(String inputName) throws IOException {
+        return optimizeParallel(inputName, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    //Сложность O(n / p + p), где p - число потоков
+    //Ресурсоёмкость O(n / maxChunkSize) на границы кусков
+    public static Pair<Integer, Integer> optimizeParallel(String inputName, ForkJoinPool pool, int maxChunkSize)
+            throws IOException {
+        try (FileChannel input = FileChannel.open(Paths.get(inputName), StandardOpenOption.READ)) {
+            long[] bounds = FileChunks.splitAtLines(input, FileChunks.chunkSize(input.size(), pool.getParallelism(), maxChunkSize));
+            if (bounds.length == 1) {
+                return new Summary().toPair();
+            }
+            try {
+                return pool.invoke(new SummaryTask(input, bounds, 0, bounds.length - 1)).toPair();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class SummaryTask extends RecursiveTask<Summary> {
+        private final FileChannel input;
+        private final long[] bounds;
+        private final int fromChunk;
+        private final int toChunk;
+
+        SummaryTask(FileChannel input, long[] bounds, int fromChunk, int toChunk) {
+            this.input = input;
+            this.bounds = bounds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (toChunk - fromChunk == 1) {
+                try {
+                    return summarize(input, bounds[fromChunk], bounds[toChunk]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            SummaryTask left = new SummaryTask(input, bounds, fromChunk, middle);
+            SummaryTask right = new SummaryTask(input, bounds, middle, toChunk);
+            left.fork();
+            Summary rightSummary = right.compute();
+            return Summary.merge(left.join(), rightSummary);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package lesson2;
+
+import kotlin.Pair;
+
+/**
+ * Поиск лучших моментов покупки и продажи в потоке цен, поступающих по одной или пачками.
+ * <p>
+ * Без окна хранится одна сводка BuySellOptimizer.Summary всей истории.
+ * С окном из последних windowSize цен используется очередь на двух стеках:
+ * цены хранятся в кольцевом буфере, для новых цен ведётся одна сводка, а для старых -
+ * сводки каждого суффикса, которые пересчитываются, когда старая часть опустела.
+ * Каждая цена пересчитывается не больше одного раза, поэтому добавление и запрос - амортизированно O(1).
+ * <p>
+ * Моменты нумеруются с единицы от первой добавленной цены.
+ */
+@SuppressWarnings("WeakerAccess")
+public class BuySellWindow {
+
+    private static final BuySellOptimizer.Summary EMPTY = new BuySellOptimizer.Summary();
+
+    private final int windowSize;
+    private long ticks = 0;
+
+    private final int[] prices;
+    private final BuySellOptimizer.Summary[] suffixes;
+    private int oldest = 0;
+    private int oldSize = 0;
+    private int newSize = 0;
+    private final BuySellOptimizer.Summary newSummary = new BuySellOptimizer.Summary();
+
+    /**
+     * Поиск по всей истории
+     */
+    //Ресурсоёмкость O(1)
+    public BuySellWindow() {
+        windowSize = 0;
+        prices = null;
+        suffixes = null;
+    }
+
+    /**
+     * Поиск по последним windowSize ценам
+     */
+    //Ресурсоёмкость O(windowSize)
+    public BuySellWindow(int windowSize) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size should be at least 2: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        prices = new int[windowSize];
+        suffixes = new BuySellOptimizer.Summary[windowSize];
+        for (int i = 0; i < windowSize; i++) {
+            suffixes[i] = new BuySellOptimizer.Summary();
+        }
+    }
+
+    public long ticks() {
+        return ticks;
+    }
+
+    //Сложность O(1) амортизированно
+    public void add(int price) {
+        if (price <= 0) {
+            throw new IllegalArgumentException("Price should be positive: " + price);
+        }
+        ticks++;
+        if (prices == null) {
+            newSummary.add(price);
+            return;
+        }
+        if (oldSize + newSize == windowSize) {
+            if (oldSize == 0) {
+                moveNewToOld();
+            }
+            oldest = (oldest + 1) % windowSize;
+            oldSize--;
+        }
+        prices[(oldest + oldSize + newSize) % windowSize] = price;
+        newSize++;
+        newSummary.add(price);
+    }
+
+    //Сложность O(prices.length) амортизированно
+    public void addAll(int[] prices) {
+        for (int price : prices) {
+            add(price);
+        }
+    }
+
+    /**
+     * Сводки суффиксов новой части считаются от самой новой цены к самой старой
+     */
+    private void moveNewToOld() {
+        BuySellOptimizer.Summary next = null;
+        for (int k = newSize - 1; k >= 0; k--) {
+            int position = (oldest + k) % windowSize;
+            BuySellOptimizer.Summary suffix = suffixes[position];
+            suffix.copyFrom(next == null ? EMPTY : next);
+            suffix.prepend(prices[position]);
+            next = suffix;
+        }
+        oldSize = newSize;
+        newSize = 0;
+        newSummary.copyFrom(EMPTY);
+    }
+
+    private BuySellOptimizer.Summary summary() {
+        if (oldSize == 0) {
+            return newSummary;
+        }
+        return BuySellOptimizer.Summary.merge(suffixes[oldest], newSummary);
+    }
+
+    /**
+     * Лучшая пара (покупка, продажа) среди последних windowSize цен или всей истории.
+     * Бросает IllegalStateException, если цен меньше двух.
+     */
+    //Сложность O(1)
+    public Pair<Long, Long> best() {
+        BuySellOptimizer.Summary summary = summary();
+        if (!summary.hasPair()) {
+            throw new IllegalStateException("At least two prices expected, found " + summary.lines);
+        }
+        long offset = ticks - summary.lines;
+        return new Pair<>(summary.bestBuy + offset, summary.bestSell + offset);
+    }
+
+    /**
+     * Прибыль лучшей пары, может быть отрицательной, если цены только падали
+     */
+    //Сложность O(1)
+    public long bestProfit() {
+        BuySellOptimizer.Summary summary = summary();
+        if (!summary.hasPair()) {
+            throw new IllegalStateException("At least two prices expected, found " + summary.lines);
+        }
+        return summary.bestProfit;
+    }
+}
@@ -1,8 +1,10 @@
 package lesson2;
 
-import kotlin.NotImplementedError;
 import kotlin.Pair;
 
+import java.io.IOException;
+import java.util.stream.IntStream;
+
 @SuppressWarnings("unused")
 public class JavaAlgorithms {
     /**
@@ -29,8 +31,10 @@ public class JavaAlgorithms {
      * <p>
      * В случае обнаружения неверного формата файла бросить любое исключение.
      */
-    static public Pair<Integer, Integer> optimizeBuyAndSell(String inputName) {
-        throw new NotImplementedError();
+    //Сложность O(n), один проход по отображённому в память файлу
+    //Ресурсоёмкость O(1)
+    static public Pair<Integer, Integer> optimizeBuyAndSell(String inputName) throws IOException {
+        return BuySellOptimizer.optimize(inputName);
     }
 
     /**
@@ -82,8 +86,16 @@ public class JavaAlgorithms {
      * Общий комментарий: решение из Википедии для этой задачи принимается,
      * но приветствуется попытка решить её самостоятельно.
      */
+    //Сложность O(min(n, k*log(n)))
+    //Ресурсоёмкость O(1)
     static public int josephTask(int menNumber, int choiceInterval) {
-        throw new NotImplementedError();
+        return (int) Josephus.survivor(menNumber, choiceInterval);
+    }
+
+    //Сложность O(min(n, k*log(n)))
+    //Ресурсоёмкость O(1)
+    static public long josephTask(long menNumber, long choiceInterval) {
+        return Josephus.survivor(menNumber, choiceInterval);
     }
 
     /**
@@ -97,30 +109,78 @@ public class JavaAlgorithms {
      * Если имеется несколько самых длинных общих подстрок одной длины,
      * вернуть ту из них, которая встречается раньше в строке first.
      */
-    //Сложность O(n^2)
-    //Ресурсоёмкость O(n^2)
+    //Сложность O(n + m): суффиксный автомат строится по second, по нему проходит first
+    //Ресурсоёмкость O(m)
     static public String longestCommonSubstring(String first, String second) {
-        int[][] F = new int[first.length() + 1][second.length() + 1];
+        return new SuffixAutomaton(second).longestCommonSubstring(first);
+    }
+
+    /**
+     * Наибольшая общая подстрока динамическим программированием с одной строкой таблицы.
+     * F[i][j] зависит только от F[i - 1][j - 1], поэтому строка обходится справа налево
+     * и хранится по более короткой из строк. Подходит для входов средней длины,
+     * где построение автомата не окупается.
+     */
+    //Сложность O(n*m)
+    //Ресурсоёмкость O(min(n, m))
+    static public String longestCommonSubstringByRows(String first, String second) {
+        boolean rowsOverSecond = second.length() <= first.length();
+        String outer = rowsOverSecond ? first : second;
+        String inner = rowsOverSecond ? second : first;
+        int[] row = new int[inner.length() + 1];
         int maxLen = 0;
-        int maxIndex = 0;
-        for (int i = 1; i <= first.length(); i++) {
-            for (int j = 1; j <= second.length(); j++) {
-                if (first.charAt(i - 1) == second.charAt(j - 1)) {
-                    F[i][j] = F[i - 1][j - 1] + 1;
-                }
-                if (F[i][j] > maxLen) {
-                    maxIndex = i;
-                    maxLen = F[i][j];
+        int maxEnd = 0;
+        for (int i = 1; i <= outer.length(); i++) {
+            char c = outer.charAt(i - 1);
+            for (int j = inner.length(); j >= 1; j--) {
+                int length = inner.charAt(j - 1) == c ? row[j - 1] + 1 : 0;
+                row[j] = length;
+                if (length >= maxLen && length > 0) {
+                    int end = rowsOverSecond ? i : j;
+                    if (length > maxLen || end < maxEnd) {
+                        maxLen = length;
+                        maxEnd = end;
+                    }
                 }
             }
         }
+        return first.substring(maxEnd - maxLen, maxEnd);
+    }
 
-        StringBuilder res = new StringBuilder();
-        for (int i = maxLen; i > 0; i--) {
-            res.insert(0, first.charAt(maxIndex - 1));
-            maxIndex--;
+    /**
+     * Наибольшая общая подстрока динамическим программированием, параллельно по диагоналям таблицы.
+     * Так как F[i][j] зависит только от F[i - 1][j - 1], диагонали i - j = const независимы
+     * и обходятся параллельно без синхронизации между ними, с памятью O(1) на диагональ.
+     */
+    //Сложность O(n*m / p), где p - число потоков
+    //Ресурсоёмкость O(1) на поток
+    static public String longestCommonSubstringByDiagonals(String first, String second) {
+        // Результат диагонали упакован так, что максимум даёт наибольшую длину, а из равных - наименьший конец
+        long best = IntStream.range(1 - second.length(), first.length()).parallel()
+                .mapToLong(diagonal -> longestOnDiagonal(first, second, diagonal))
+                .max().orElse(0L);
+        int maxLen = (int) (best >>> 32);
+        int maxEnd = Integer.MAX_VALUE - (int) best;
+        return maxLen == 0 ? "" : first.substring(maxEnd - maxLen, maxEnd);
+    }
+
+    private static long longestOnDiagonal(String first, String second, int diagonal) {
+        int i = Math.max(diagonal, 0);
+        int j = i - diagonal;
+        int length = 0;
+        int maxLen = 0;
+        int maxEnd = 0;
+        for (; i < first.length() && j < second.length(); i++, j++) {
+            if (first.charAt(i) == second.charAt(j)) {
+                if (++length > maxLen) {
+                    maxLen = length;
+                    maxEnd = i + 1;
+                }
+            } else {
+                length = 0;
+            }
         }
-        return res.toString();
+        return (long) maxLen << 32 | (Integer.MAX_VALUE - maxEnd);
     }
 
     /**
@@ -133,25 +193,18 @@ public class JavaAlgorithms {
      * Справка: простым считается число, которое делится нацело только на 1 и на себя.
      * Единица простым числом не считается.
      */
-    //Сложность Решета Эратосфена O(nlog(log(n)))
-    //Ресурсоёмкость O(n)
+    //Сложность Решета Эратосфена O(nlog(log(n))), сегменты просеиваются параллельно
+    //Ресурсоёмкость O(sqrt(n))
     static public int calcPrimesNumber(int limit) {
-        if (limit <= 1) {
-            return 0;
-        }
-        boolean[] notPrime = new boolean[limit + 1];
-        int notPrimes = 1;
-        for (int i = 2; i * i <= limit; i++) {
-            if (!notPrime[i]) {
-                for (int j = i * i; j <= limit; j += i) {
-                    if (!notPrime[j]) {
-                        notPrime[j] = true;
-                        notPrimes++;
-                    }
-                }
-            }
-        }
-        return limit - notPrimes;
+        return (int) SegmentedSieve.countPrimes(limit);
     }
 
+    /**
+     * Число простых чисел в интервале от 1 до limit для limit за пределами int, см. SegmentedSieve
+     */
+    //Сложность O(nlog(log(n)))
+    //Ресурсоёмкость O(sqrt(n))
+    static public long calcPrimesNumber(long limit) {
+        return SegmentedSieve.countPrimes(limit);
+    }
 }
@@ -0,0 +1,95 @@
+package lesson2;
+
+/**
+ * Задача Иосифа Флавия: menNumber человек по кругу, выбывает каждый choiceInterval-й.
+ * Все номера людей отсчитываются с единицы, как в JavaAlgorithms.josephTask.
+ */
+@SuppressWarnings("WeakerAccess")
+public class Josephus {
+
+    private static void check(long menNumber, long choiceInterval) {
+        if (menNumber < 1 || choiceInterval < 1) {
+            throw new IllegalArgumentException("Wrong arguments: " + menNumber + ", " + choiceInterval);
+        }
+    }
+
+    /**
+     * Номер оставшегося человека по рекуррентной формуле J(m) = (J(m - 1) + k) mod m
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(1)
+    public static long survivorLinear(long menNumber, long choiceInterval) {
+        check(menNumber, choiceInterval);
+        long result = 0;
+        for (long m = 2; m <= menNumber; m++) {
+            result = (result + choiceInterval % m) % m;
+        }
+        return result + 1;
+    }
+
+    /**
+     * Номер оставшегося человека рекуррентной формулой с прыжками.
+     * Пока (J(m) + k) не выходит за размер круга, взятие остатка не нужно и несколько шагов
+     * формулы делаются сразу: J(m + t) = J(m) + t * k. После каждого взятия остатка J(m) < k,
+     * так что прыжок увеличивает m примерно в k / (k - 1) раз.
+     */
+    //Сложность O(min(n, k*log(n)))
+    //Ресурсоёмкость O(1)
+    public static long survivor(long menNumber, long choiceInterval) {
+        check(menNumber, choiceInterval);
+        if (choiceInterval == 1) {
+            return menNumber;
+        }
+        long result = 0;
+        long m = 1;
+        while (m < menNumber) {
+            // Число шагов t, для которых result + t * k < m + t
+            long steps = Math.min((m - result - 1) / (choiceInterval - 1), menNumber - m);
+            if (steps == 0) {
+                m++;
+                result = (result + choiceInterval % m) % m;
+            } else {
+                result += steps * choiceInterval;
+                m += steps;
+            }
+        }
+        return result + 1;
+    }
+
+    /**
+     * Номера людей в порядке выбывания, последний из них - оставшийся.
+     * Живые люди хранятся в дереве Фенвика, k-й живой по порядку ищется спуском по дереву.
+     */
+    //Сложность O(n*log(n))
+    //Ресурсоёмкость O(n)
+    public static int[] eliminationOrder(int menNumber, long choiceInterval) {
+        check(menNumber, choiceInterval);
+        // tree[i] - число живых среди (i - lowbit(i), i], изначально живы все
+        int[] tree = new int[menNumber + 1];
+        for (int i = 1; i <= menNumber; i++) {
+            tree[i] = i & -i;
+        }
+        int topBit = Integer.highestOneBit(menNumber);
+        int[] order = new int[menNumber];
+        long position = 0;
+        for (int remaining = menNumber; remaining > 0; remaining--) {
+            position = (position + (choiceInterval - 1) % remaining) % remaining;
+            // Спуск: наибольший index, у которого живых в [1, index] не больше position
+            int index = 0;
+            int rest = (int) position;
+            for (int bit = topBit; bit != 0; bit >>>= 1) {
+                int next = index + bit;
+                if (next <= menNumber && tree[next] <= rest) {
+                    index = next;
+                    rest -= tree[next];
+                }
+            }
+            int man = index + 1;
+            for (int i = man; i <= menNumber; i += i & -i) {
+                tree[i]--;
+            }
+            order[menNumber - remaining] = man;
+        }
+        return order;
+    }
+}
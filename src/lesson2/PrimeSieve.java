@@ -0,0 +1,137 @@
+package lesson2;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Сервис простых чисел до заданного max.
+ * <p>
+ * Нечётные простые до sqrt(max) вычисляются один раз при создании и переиспользуются всеми запросами,
+ * поэтому подсчёт простых в окне [from, to] и перебор простых просеивают только сегменты этого окна,
+ * а не весь префикс от единицы. Экземпляр неизменяем и может использоваться из нескольких потоков.
+ */
+@SuppressWarnings("WeakerAccess")
+public class PrimeSieve {
+
+    private final long max;
+    private final int[] basePrimes;
+
+    //Сложность O(sqrt(max)*log(log(max)))
+    //Ресурсоёмкость O(sqrt(max))
+    public PrimeSieve(long max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Negative max: " + max);
+        }
+        this.max = max;
+        basePrimes = SegmentedSieve.oddPrimesUpTo(SegmentedSieve.sqrt(max));
+    }
+
+    public long max() {
+        return max;
+    }
+
+    private void checkRange(long to) {
+        if (to > max) {
+            throw new IllegalArgumentException("Upper bound " + to + " is above the sieve max " + max);
+        }
+    }
+
+    /**
+     * Количество простых чисел в интервале [from, to] (включительно); 0, если from > to
+     */
+    //Сложность O((to - from)*log(log(to)) / p + sqrt(to)), где p - число потоков
+    //Ресурсоёмкость 32 Кб на поток
+    public long countPrimes(long from, long to) {
+        checkRange(to);
+        if (from > to || to < 2) {
+            return 0;
+        }
+        long two = from <= 2 ? 1 : 0;
+        return two + SegmentedSieve.countOddPrimes(lowOdd(from), highOdd(to), basePrimes);
+    }
+
+    /**
+     * Простые числа интервала [from, to] по возрастанию. Сегменты просеиваются по мере перебора.
+     */
+    //Ресурсоёмкость 32 Кб на итератор
+    public PrimitiveIterator.OfLong iterator(long from, long to) {
+        checkRange(to);
+        return new PrimeIterator(from, to);
+    }
+
+    // Наименьшее нечётное число, не меньшее max(from, 3)
+    private static long lowOdd(long from) {
+        return Math.max(from, 3) | 1;
+    }
+
+    private static long highOdd(long to) {
+        return (to & 1) == 0 ? to - 1 : to;
+    }
+
+    private class PrimeIterator implements PrimitiveIterator.OfLong {
+        private final long highOdd;
+        private final long[] segment = new long[SegmentedSieve.SEGMENT_BITS / 64];
+        private boolean two;
+        private long nextSegmentLow;
+        private long segmentLow;
+        private int segmentBits = 0;
+        private int word = -1;
+        private long pending = 0;
+        private long next;
+        private boolean hasNext;
+
+        PrimeIterator(long from, long to) {
+            two = from <= 2 && to >= 2;
+            highOdd = PrimeSieve.highOdd(to);
+            nextSegmentLow = lowOdd(from);
+            hasNext = findNext();
+        }
+
+        private boolean findNext() {
+            if (two) {
+                two = false;
+                next = 2;
+                return true;
+            }
+            while (true) {
+                if (pending != 0) {
+                    int bit = word * 64 + Long.numberOfTrailingZeros(pending);
+                    pending &= pending - 1;
+                    next = segmentLow + 2L * bit;
+                    return true;
+                }
+                int words = (segmentBits + 63) / 64;
+                if (++word < words) {
+                    pending = ~segment[word];
+                    if (word == words - 1 && (segmentBits & 63) != 0) {
+                        pending &= (1L << segmentBits) - 1;
+                    }
+                    continue;
+                }
+                if (nextSegmentLow > highOdd) {
+                    return false;
+                }
+                segmentLow = nextSegmentLow;
+                segmentBits = (int) Math.min(SegmentedSieve.SEGMENT_BITS, (highOdd - segmentLow) / 2 + 1);
+                SegmentedSieve.sieveSegment(segmentLow, segmentBits, basePrimes, segment);
+                nextSegmentLow = segmentLow + 2L * segmentBits;
+                word = -1;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long result = next;
+            hasNext = findNext();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package lesson2;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Сегментированное решето Эратосфена, хранящее только нечётные числа, по одному биту на число.
+ * <p>
+ * Сегмент занимает SEGMENT_BITS бит (32 Кб, размер кэша L1) и покрывает 2 * SEGMENT_BITS чисел.
+ * Сегменты не зависят друг от друга и просеиваются параллельно,
+ * поэтому память ограничена O(sqrt(limit)) на простые до корня и сегментом на поток.
+ */
+@SuppressWarnings("WeakerAccess")
+public class SegmentedSieve {
+
+    static final int SEGMENT_BITS = 1 << 18;
+
+    private static final ThreadLocal<long[]> SEGMENTS = ThreadLocal.withInitial(() -> new long[SEGMENT_BITS / 64]);
+
+    /**
+     * Нечётные простые числа, не превосходящие limit, простым решетом по нечётным числам
+     */
+    //Сложность O(limit*log(log(limit)))
+    //Ресурсоёмкость O(limit)
+    static int[] oddPrimesUpTo(int limit) {
+        if (limit < 3) {
+            return new int[0];
+        }
+        // Бит i соответствует числу 2i + 1
+        int bits = (limit - 1) / 2 + 1;
+        long[] composite = new long[(bits + 63) / 64];
+        int count = 0;
+        int[] primes = new int[16];
+        for (int i = 1; i < bits; i++) {
+            if ((composite[i >>> 6] & (1L << i)) != 0) continue;
+            long p = 2L * i + 1;
+            for (long j = (p * p - 1) / 2; j < bits; j += p) {
+                composite[(int) (j >>> 6)] |= 1L << j;
+            }
+            if (count == primes.length) {
+                primes = Arrays.copyOf(primes, count * 2);
+            }
+            primes[count++] = (int) p;
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * Просеивание нечётных чисел low, low + 2, ..., low + 2 * (bits - 1) (low нечётно).
+     * В segment выставляются биты составных чисел; basePrimes должны содержать
+     * все нечётные простые до корня из наибольшего числа сегмента.
+     */
+    static void sieveSegment(long low, int bits, int[] basePrimes, long[] segment) {
+        Arrays.fill(segment, 0, (bits + 63) / 64, 0L);
+        long high = low + 2L * (bits - 1);
+        for (int prime : basePrimes) {
+            long p = prime;
+            if (p * p > high) break;
+            long start = Math.max(p * p, (low + p - 1) / p * p);
+            if ((start & 1) == 0) {
+                start += p;
+            }
+            long first = (start - low) / 2;
+            if (first >= bits) continue;
+            // Для prime >= bits кратное в сегменте не больше одного, а j + prime может переполнить int
+            if (prime >= bits) {
+                segment[(int) (first >>> 6)] |= 1L << first;
+                continue;
+            }
+            for (int j = (int) first; j < bits; j += prime) {
+                segment[j >>> 6] |= 1L << j;
+            }
+        }
+        if (low == 1) {
+            segment[0] |= 1L;
+        }
+    }
+
+    static int countClear(long[] segment, int bits) {
+        int fullWords = bits >>> 6;
+        int count = 0;
+        for (int i = 0; i < fullWords; i++) {
+            count += Long.bitCount(~segment[i]);
+        }
+        int rest = bits & 63;
+        if (rest != 0) {
+            count += Long.bitCount(~segment[fullWords] & ((1L << rest) - 1));
+        }
+        return count;
+    }
+
+    static int sqrt(long value) {
+        long root = (long) Math.sqrt((double) value);
+        while (root * root > value) root--;
+        while ((root + 1) * (root + 1) <= value) root++;
+        return (int) root;
+    }
+
+    /**
+     * Количество простых среди нечётных чисел lowOdd, lowOdd + 2, ..., highOdd (оба нечётные)
+     */
+    static long countOddPrimes(long lowOdd, long highOdd, int[] basePrimes) {
+        if (lowOdd > highOdd) {
+            return 0;
+        }
+        long oddNumbers = (highOdd - lowOdd) / 2 + 1;
+        long segments = (oddNumbers + SEGMENT_BITS - 1) / SEGMENT_BITS;
+        return LongStream.range(0, segments).parallel().map(index -> {
+            long firstBit = index * SEGMENT_BITS;
+            int bits = (int) Math.min(SEGMENT_BITS, oddNumbers - firstBit);
+            long[] segment = SEGMENTS.get();
+            sieveSegment(lowOdd + 2 * firstBit, bits, basePrimes, segment);
+            return countClear(segment, bits);
+        }).sum();
+    }
+
+    /**
+     * Количество простых чисел от 1 до limit включительно
+     */
+    //Сложность O(limit*log(log(limit)) / p), где p - число потоков
+    //Ресурсоёмкость O(sqrt(limit)) + 32 Кб на поток
+    public static long countPrimes(long limit) {
+        if (limit < 2) {
+            return 0;
+        }
+        int[] basePrimes = oddPrimesUpTo(sqrt(limit));
+        return countOddPrimes(1, (limit & 1) == 0 ? limit - 1 : limit, basePrimes) + 1;
+    }
+}
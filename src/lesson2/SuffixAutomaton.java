@@ -0,0 +1,184 @@
+package lesson2;
+
+import java.util.Arrays;
+
+/**
+ * Суффиксный автомат строки: минимальный автомат, принимающий все её подстроки.
+ * <p>
+ * Число состояний не больше 2n, переходов не больше 3n. Переходы хранятся в одной хеш-таблице
+ * с открытой адресацией по ключу (состояние, символ), поэтому память не зависит от размера алфавита.
+ * Для копирования переходов при расщеплении состояния у каждого состояния есть список его символов.
+ */
+class SuffixAutomaton {
+
+    private int[] length;
+    private int[] link;
+    private int[] firstEdge;
+    private int states = 0;
+    private int last;
+
+    // Списки символов переходов каждого состояния
+    private char[] edgeChar;
+    private int[] nextEdge;
+    private int edges = 0;
+
+    // Хеш-таблица переходов: ключ (state << 16 | char) + 1, ноль означает пустую ячейку
+    private long[] keys;
+    private int[] targets;
+    private int mask;
+    private int transitions = 0;
+
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
+    SuffixAutomaton(CharSequence text) {
+        int maxStates = Math.max(2, 2 * text.length());
+        length = new int[maxStates];
+        link = new int[maxStates];
+        firstEdge = new int[maxStates];
+        edgeChar = new char[Math.max(4, 3 * text.length())];
+        nextEdge = new int[edgeChar.length];
+        int capacity = Integer.highestOneBit(Math.max(8, edgeChar.length) * 2 - 1) << 1;
+        keys = new long[capacity];
+        targets = new int[capacity];
+        mask = capacity - 1;
+        last = newState(0);
+        link[last] = -1;
+        for (int i = 0; i < text.length(); i++) {
+            extend(text.charAt(i));
+        }
+    }
+
+    private int newState(int stateLength) {
+        int state = states++;
+        length[state] = stateLength;
+        firstEdge[state] = -1;
+        return state;
+    }
+
+    private static long key(int state, char c) {
+        return ((long) state << 16 | c) + 1;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    /**
+     * Переход из state по символу c или -1, если перехода нет
+     */
+    int next(int state, char c) {
+        long key = key(state, c);
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return targets[i];
+            }
+        }
+        return -1;
+    }
+
+    private void setNext(int state, char c, int target) {
+        long key = key(state, c);
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                targets[i] = target;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        targets[i] = target;
+        if (edges == edgeChar.length) {
+            edgeChar = Arrays.copyOf(edgeChar, edges * 2);
+            nextEdge = Arrays.copyOf(nextEdge, edges * 2);
+        }
+        edgeChar[edges] = c;
+        nextEdge[edges] = firstEdge[state];
+        firstEdge[state] = edges++;
+        if (++transitions * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldTargets = targets;
+        keys = new long[oldKeys.length * 2];
+        targets = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = slot(oldKeys[j], mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                targets[i] = oldTargets[j];
+            }
+        }
+    }
+
+    private void extend(char c) {
+        int current = newState(length[last] + 1);
+        int p = last;
+        while (p != -1 && next(p, c) == -1) {
+            setNext(p, c, current);
+            p = link[p];
+        }
+        if (p == -1) {
+            link[current] = 0;
+        } else {
+            int q = next(p, c);
+            if (length[p] + 1 == length[q]) {
+                link[current] = q;
+            } else {
+                int clone = newState(length[p] + 1);
+                for (int edge = firstEdge[q]; edge != -1; edge = nextEdge[edge]) {
+                    setNext(clone, edgeChar[edge], next(q, edgeChar[edge]));
+                }
+                link[clone] = link[q];
+                while (p != -1 && next(p, c) == q) {
+                    setNext(p, c, clone);
+                    p = link[p];
+                }
+                link[q] = clone;
+                link[current] = clone;
+            }
+        }
+        last = current;
+    }
+
+    /**
+     * Наибольшая общая подстрока text автомата и строки other.
+     * Из нескольких самых длинных возвращается та, что раньше всех встречается в other.
+     */
+    //Сложность O(m), где m = other.length()
+    //Ресурсоёмкость O(1)
+    String longestCommonSubstring(String other) {
+        int state = 0;
+        int matched = 0;
+        int best = 0;
+        int bestEnd = 0;
+        for (int i = 0; i < other.length(); i++) {
+            char c = other.charAt(i);
+            int target;
+            while ((target = next(state, c)) == -1 && state != 0) {
+                state = link[state];
+                matched = length[state];
+            }
+            if (target == -1) {
+                matched = 0;
+            } else {
+                state = target;
+                matched++;
+            }
+            // Строгое сравнение: при равной длине остаётся более раннее вхождение
+            if (matched > best) {
+                best = matched;
+                bestEnd = i + 1;
+            }
+        }
+        return other.substring(bestEnd - best, bestEnd);
+    }
+}
@@ -0,0 +1,511 @@
+package lesson3;
+
+import java.util.*;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Самобалансирующееся двоичное дерево поиска (АВЛ-дерево)
+ * <p>
+ * Высоты поддеревьев любого узла отличаются не больше чем на единицу, поэтому высота дерева
+ * не превышает 1.45 * log2(n + 2) и поиск, добавление и удаление работают за O(log(n))
+ * в худшем случае, в том числе на упорядоченном входе.
+ * Все операции итеративные: путь от корня хранится в массиве, его длина ограничена MAX_HEIGHT.
+ * <p>
+ * Подмножества (subSet, headSet, tailSet) - представления без собственного состояния:
+ * они хранят только границы диапазона и обращаются к дереву напрямую.
+ */
+// attention: Comparable is supported but Comparator is not
+public class AvlTree<T extends Comparable<T>> extends AbstractSet<T> implements CheckableSortedSet<T> {
+
+    // Высота АВЛ-дерева из 2^31 узлов не больше 45
+    private static final int MAX_HEIGHT = 48;
+
+    private static class Node<T> {
+        T value;
+        Node<T> left = null;
+        Node<T> right = null;
+        int height = 1;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private Node<T> root = null;
+    private int size = 0;
+
+    //Сложность O(1)
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void updateHeight(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        updateHeight(node);
+        updateHeight(left);
+        return left;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        updateHeight(node);
+        updateHeight(right);
+        return right;
+    }
+
+    /**
+     * Восстановление баланса узла, поддеревья которого уже сбалансированы и отличаются по высоте не больше чем на 2
+     */
+    private static <T> Node<T> balance(Node<T> node) {
+        int difference = height(node.left) - height(node.right);
+        if (difference > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (difference < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        updateHeight(node);
+        return node;
+    }
+
+    /**
+     * Балансировка узлов пути path[0..depth) снизу вверх.
+     * Как только высота очередного поддерева не изменилась, выше ничего не меняется.
+     */
+    private void rebalance(Node<T>[] path, int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Node<T> node = path[i];
+            int oldHeight = node.height;
+            Node<T> balanced = balance(node);
+            if (i == 0) {
+                root = balanced;
+            } else if (path[i - 1].left == node) {
+                path[i - 1].left = balanced;
+            } else {
+                path[i - 1].right = balanced;
+            }
+            if (balanced.height == oldHeight) {
+                break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newPath() {
+        return (Node<T>[]) new Node[MAX_HEIGHT];
+    }
+
+    //Сложность O(log(n))
+    @Override
+    public boolean contains(Object o) {
+        @SuppressWarnings("unchecked")
+        T t = (T) o;
+        Node<T> current = root;
+        while (current != null) {
+            int comparison = t.compareTo(current.value);
+            if (comparison == 0) {
+                return true;
+            }
+            current = comparison < 0 ? current.left : current.right;
+        }
+        return false;
+    }
+
+    //Сложность O(log(n))
+    //Ресурсоёмкость O(log(n))
+    @Override
+    public boolean add(T t) {
+        Objects.requireNonNull(t);
+        Node<T>[] path = newPath();
+        int depth = 0;
+        Node<T> current = root;
+        int comparison = 0;
+        while (current != null) {
+            comparison = t.compareTo(current.value);
+            if (comparison == 0) {
+                return false;
+            }
+            path[depth++] = current;
+            current = comparison < 0 ? current.left : current.right;
+        }
+        Node<T> newNode = new Node<>(t);
+        if (depth == 0) {
+            root = newNode;
+        } else if (comparison < 0) {
+            path[depth - 1].left = newNode;
+        } else {
+            path[depth - 1].right = newNode;
+        }
+        size++;
+        rebalance(path, depth);
+        return true;
+    }
+
+    //Сложность O(log(n))
+    //Ресурсоёмкость O(log(n))
+    @Override
+    public boolean remove(Object o) {
+        @SuppressWarnings("unchecked")
+        T t = (T) o;
+        Node<T>[] path = newPath();
+        int depth = 0;
+        Node<T> current = root;
+        while (current != null) {
+            int comparison = t.compareTo(current.value);
+            if (comparison == 0) break;
+            path[depth++] = current;
+            current = comparison < 0 ? current.left : current.right;
+        }
+        if (current == null) {
+            return false;
+        }
+        if (current.left != null && current.right != null) {
+            // Значение узла заменяется следующим по порядку, удаляется узел следующего значения
+            Node<T> removed = current;
+            path[depth++] = current;
+            current = current.right;
+            while (current.left != null) {
+                path[depth++] = current;
+                current = current.left;
+            }
+            removed.value = current.value;
+        }
+        Node<T> child = current.left != null ? current.left : current.right;
+        if (depth == 0) {
+            root = child;
+        } else if (path[depth - 1].left == current) {
+            path[depth - 1].left = child;
+        } else {
+            path[depth - 1].right = child;
+        }
+        size--;
+        rebalance(path, depth);
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Comparator<? super T> comparator() {
+        return null;
+    }
+
+    /**
+     * Наибольший узел со значением строго меньше to
+     */
+    private Node<T> lower(T to) {
+        Node<T> result = null;
+        Node<T> current = root;
+        while (current != null) {
+            if (current.value.compareTo(to) < 0) {
+                result = current;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return result;
+    }
+
+    //Сложность O(log(n))
+    @Override
+    public T first() {
+        if (root == null) throw new NoSuchElementException();
+        Node<T> current = root;
+        while (current.left != null) {
+            current = current.left;
+        }
+        return current.value;
+    }
+
+    private Node<T> max() {
+        Node<T> current = root;
+        while (current != null && current.right != null) {
+            current = current.right;
+        }
+        return current;
+    }
+
+    //Сложность O(log(n))
+    @Override
+    public T last() {
+        if (root == null) throw new NoSuchElementException();
+        return max().value;
+    }
+
+    //Сложность O(log(n)) на создание итератора, O(1) амортизированно на элемент
+    //Ресурсоёмкость O(log(n))
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return new AvlTreeIterator(null, null);
+    }
+
+    /**
+     * Итератор по значениям из [fromElement, toElement), null означает отсутствие границы.
+     * Начало диапазона находится спуском от корня, без перебора меньших элементов.
+     */
+    private class AvlTreeIterator implements Iterator<T> {
+        private final T toElement;
+        private final Node<T>[] stack = newPath();
+        private int depth = 0;
+        private T prev = null;
+
+        AvlTreeIterator(T fromElement, T toElement) {
+            this.toElement = toElement;
+            seek(fromElement, true);
+        }
+
+        /**
+         * Стек - узлы со значением не меньше from (больше from), в которых путь от корня уходит влево
+         */
+        private void seek(T from, boolean inclusive) {
+            depth = 0;
+            Node<T> current = root;
+            while (current != null) {
+                int comparison = from == null ? 1 : current.value.compareTo(from);
+                if (comparison > 0 || comparison == 0 && inclusive) {
+                    stack[depth++] = current;
+                    current = current.left;
+                } else {
+                    current = current.right;
+                }
+            }
+        }
+
+        //Сложность O(1)
+        @Override
+        public boolean hasNext() {
+            return depth > 0 && (toElement == null || stack[depth - 1].value.compareTo(toElement) < 0);
+        }
+
+        //Сложность O(1) амортизированно
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> popped = stack[--depth];
+            for (Node<T> current = popped.right; current != null; current = current.left) {
+                stack[depth++] = current;
+            }
+            prev = popped.value;
+            return prev;
+        }
+
+        /**
+         * Удаление перестраивает дерево поворотами, поэтому после него итератор заново находит
+         * следующий элемент спуском от корня
+         */
+        //Сложность O(log(n))
+        @Override
+        public void remove() {
+            if (prev == null) {
+                throw new IllegalStateException();
+            }
+            AvlTree.this.remove(prev);
+            seek(prev, false);
+            prev = null;
+        }
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) {
+        return new Range(Objects.requireNonNull(fromElement), Objects.requireNonNull(toElement));
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        return new Range(null, Objects.requireNonNull(toElement));
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        return new Range(Objects.requireNonNull(fromElement), null);
+    }
+
+    //Сложность O(1)
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Проверка порядка значений, сохранённых высот и баланса каждого узла обходом в глубину со стеком
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(log(n))
+    @Override
+    public boolean checkInvariant() {
+        if (root == null) {
+            return size == 0;
+        }
+        int count = 0;
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> previous = null;
+        Node<T> current = root;
+        // Симметричный обход: значения должны строго возрастать
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (previous != null && previous.value.compareTo(current.value) >= 0) return false;
+            int left = height(current.left);
+            int right = height(current.right);
+            if (current.height != 1 + Math.max(left, right) || Math.abs(left - right) > 1) return false;
+            count++;
+            previous = current;
+            current = current.right;
+        }
+        return count == size;
+    }
+
+    /**
+     * Представление элементов дерева из [fromElement, toElement), null означает отсутствие границы
+     */
+    private class Range extends AbstractSet<T> implements SortedSet<T> {
+        private final T fromElement;
+        private final T toElement;
+
+        Range(T fromElement, T toElement) {
+            this.fromElement = fromElement;
+            this.toElement = toElement;
+        }
+
+        private boolean inRange(T value) {
+            return (fromElement == null || value.compareTo(fromElement) >= 0)
+                    && (toElement == null || value.compareTo(toElement) < 0);
+        }
+
+        //Сложность O(log(n) + k), где k - размер подмножества
+        @Override
+        public int size() {
+            int count = 0;
+            for (Iterator<T> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        //Сложность O(log(n))
+        @Override
+        public boolean contains(Object o) {
+            @SuppressWarnings("unchecked")
+            T t = (T) o;
+            return inRange(t) && AvlTree.this.contains(t);
+        }
+
+        //Сложность O(log(n))
+        @Override
+        public boolean add(T t) {
+            if (!inRange(t)) {
+                throw new IllegalArgumentException();
+            }
+            return AvlTree.this.add(t);
+        }
+
+        //Сложность O(log(n))
+        @Override
+        public boolean remove(Object o) {
+            @SuppressWarnings("unchecked")
+            T t = (T) o;
+            if (!inRange(t)) {
+                throw new IllegalArgumentException();
+            }
+            return AvlTree.this.remove(t);
+        }
+
+        //Сложность O(log(n))
+        @NotNull
+        @Override
+        public Iterator<T> iterator() {
+            return new AvlTreeIterator(fromElement, toElement);
+        }
+
+        @Nullable
+        @Override
+        public Comparator<? super T> comparator() {
+            return null;
+        }
+
+        private T maxFrom(T value) {
+            return fromElement == null || value.compareTo(fromElement) > 0 ? value : fromElement;
+        }
+
+        private T minTo(T value) {
+            return toElement == null || value.compareTo(toElement) < 0 ? value : toElement;
+        }
+
+        /**
+         * Вложенное подмножество - пересечение диапазонов, как и у BinarySearchTree оно не бросает исключений
+         */
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement) {
+            return new Range(maxFrom(fromElement), minTo(toElement));
+        }
+
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> headSet(T toElement) {
+            return new Range(fromElement, minTo(toElement));
+        }
+
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> tailSet(T fromElement) {
+            return new Range(maxFrom(fromElement), toElement);
+        }
+
+        //Сложность O(log(n))
+        @Override
+        public T first() {
+            Iterator<T> iterator = iterator();
+            if (!iterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
+
+        //Сложность O(log(n))
+        @Override
+        public T last() {
+            Node<T> node = toElement == null ? max() : lower(toElement);
+            if (node == null || !inRange(node.value)) {
+                throw new NoSuchElementException();
+            }
+            return node.value;
+        }
+    }
+}
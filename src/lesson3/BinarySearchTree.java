@@ -5,6 +5,13 @@ import java.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Двоичное дерево поиска с порядковой статистикой: каждый узел хранит размер своего поддерева,
+ * поэтому ранг элемента, элемент по номеру и размер любого диапазона находятся за O(высота дерева).
+ * <p>
+ * Подмножества хранят только свои границы и ссылку на дерево и никак не регистрируются в нём,
+ * поэтому их можно создавать сколько угодно, а запись в дерево от них не зависит.
+ */
 // attention: Comparable is supported but Comparator is not
 public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> implements CheckableSortedSet<T> {
 
@@ -12,6 +19,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         final T value;
         Node<T> left = null;
         Node<T> right = null;
+        int size = 1;
 
         Node(T value) {
             this.value = value;
@@ -20,13 +28,15 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
     }
 
     private Node<T> root = null;
-    private final List<SubTree<T>> subTrees = new ArrayList<>();
-    int size = 0;
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
 
     //Сложность O(1)
     @Override
     public int size() {
-        return size;
+        return size(root);
     }
 
     private Node<T> find(T value) {
@@ -34,16 +44,21 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         return find(root, value);
     }
 
+    /**
+     * Узел со значением value или узел, к которому его следует присоединить
+     */
     private Node<T> find(Node<T> start, T value) {
-        int comparison = value.compareTo(start.value);
-        if (comparison == 0) {
-            return start;
-        } else if (comparison < 0) {
-            if (start.left == null) return start;
-            return find(start.left, value);
-        } else {
-            if (start.right == null) return start;
-            return find(start.right, value);
+        Node<T> current = start;
+        while (true) {
+            int comparison = value.compareTo(current.value);
+            if (comparison == 0) {
+                return current;
+            }
+            Node<T> next = comparison < 0 ? current.left : current.right;
+            if (next == null) {
+                return current;
+            }
+            current = next;
         }
     }
 
@@ -84,11 +99,8 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
             assert closest.right == null;
             closest.right = newNode;
         }
-        size++;
-        for (SubTree<T> subTree : subTrees) {
-            if (subTree.isValueValid(t)) {
-                subTree.size++;
-            }
+        for (Node<T> current = root; current != newNode; current = t.compareTo(current.value) < 0 ? current.left : current.right) {
+            current.size++;
         }
         return true;
     }
@@ -110,29 +122,37 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         if (root == null) {
             return false;
         }
+        @SuppressWarnings("unchecked")
         T value = (T) o;
-        int sizeBefore = size;
+        if (value.compareTo(find(value).value) != 0) {
+            return false;
+        }
         root = remove(root, value);
-        return size == sizeBefore - 1;
+        return true;
     }
 
+    /**
+     * Удаление value, которое точно есть в поддереве start, возвращает новый корень поддерева.
+     * Размеры поддеревьев на пути к удаляемому узлу уменьшаются на единицу.
+     */
     private Node<T> remove(Node<T> start, T value) {
-        if (start == null) {
-            return null;
+        Node<T> parent = null;
+        Node<T> current = start;
+        while (true) {
+            int comparison = value.compareTo(current.value);
+            if (comparison == 0) break;
+            current.size--;
+            parent = current;
+            current = comparison < 0 ? current.left : current.right;
         }
-        int comparison = value.compareTo(start.value);
-        if (comparison < 0) {
-            start.left = remove(start.left, value);
-        } else if (comparison > 0) {
-            start.right = remove(start.right, value);
+        Node<T> replacement = innerRemove(current);
+        if (parent == null) {
+            return replacement;
+        }
+        if (parent.left == current) {
+            parent.left = replacement;
         } else {
-            size--;
-            for (SubTree<T> subTree : subTrees) {
-                if (subTree.isValueValid(value)) {
-                    subTree.size--;
-                }
-            }
-            start = innerRemove(start);
+            parent.right = replacement;
         }
         return start;
     }
@@ -149,6 +169,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         node = min(oldCopy.right);
         node.right = deleteMin(oldCopy.right);
         node.left = oldCopy.left;
+        node.size = oldCopy.size - 1;
         return node;
     }
 
@@ -156,7 +177,13 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         if (node.left == null) {
             return node.right;
         }
-        node.left = deleteMin(node.left);
+        Node<T> parent = node;
+        parent.size--;
+        while (parent.left.left != null) {
+            parent = parent.left;
+            parent.size--;
+        }
+        parent.left = parent.left.right;
         return node;
     }
 
@@ -164,10 +191,59 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         if (node == null) {
             return null;
         }
-        if (node.left == null) {
-            return node;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    /**
+     * Число элементов множества, строго меньших value
+     */
+    //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> current = root;
+        while (current != null) {
+            if (value.compareTo(current.value) <= 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
         }
-        return min(node.left);
+        return rank;
+    }
+
+    /**
+     * Элемент с номером index в порядке возрастания, нумерация с нуля.
+     * Бросает IndexOutOfBoundsException, если такого номера нет.
+     */
+    //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+    public T select(int index) {
+        Objects.checkIndex(index, size());
+        Node<T> current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.value;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Число элементов из диапазона [fromElement, toElement), null означает отсутствие границы
+     */
+    //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+    public int countInRange(T fromElement, T toElement) {
+        int upper = toElement == null ? size() : rank(toElement);
+        int lower = fromElement == null ? 0 : rank(fromElement);
+        return Math.max(0, upper - lower);
     }
 
     @Nullable
@@ -181,18 +257,37 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
     @NotNull
     @Override
     public Iterator<T> iterator() {
-        return new BinarySearchTreeIterator();
+        return new BinarySearchTreeIterator(null, null);
     }
 
+    /**
+     * Итератор по элементам из [fromElement, toElement), null означает отсутствие границы.
+     * Начало диапазона находится спуском от корня, меньшие элементы не перебираются.
+     */
     public class BinarySearchTreeIterator implements Iterator<T> {
-        private final Deque<Node<T>> stack;
+        private final Deque<Node<T>> stack = new ArrayDeque<>();
+        private final T toElement;
         private Node<T> prev;
-        private Node<T> prevParent;
 
-        private BinarySearchTreeIterator() {
-            stack = new ArrayDeque<>();
-            for (Node<T> curr = root; curr != null; curr = curr.left) {
-                stack.push(curr);
+        private BinarySearchTreeIterator(T fromElement, T toElement) {
+            this.toElement = toElement;
+            seek(fromElement, true);
+        }
+
+        /**
+         * Стек - узлы не меньше from (больше from, если inclusive = false), из которых путь от корня уходит влево
+         */
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        private void seek(T from, boolean inclusive) {
+            stack.clear();
+            for (Node<T> curr = root; curr != null; ) {
+                int comparison = from == null ? 1 : curr.value.compareTo(from);
+                if (comparison > 0 || comparison == 0 && inclusive) {
+                    stack.push(curr);
+                    curr = curr.left;
+                } else {
+                    curr = curr.right;
+                }
             }
         }
 
@@ -209,7 +304,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         //Сложность O(1)
         @Override
         public boolean hasNext() {
-            return !stack.isEmpty();
+            return !stack.isEmpty() && (toElement == null || stack.peek().value.compareTo(toElement) < 0);
         }
 
         /**
@@ -228,13 +323,12 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         //Сложность O(log(n))
         @Override
         public T next() {
-            if (stack.isEmpty()) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
 
             Node<T> popped = stack.pop();
             prev = popped;
-            prevParent = stack.isEmpty() ? root : stack.peek();
             for (Node<T> curr = popped.right; curr != null; curr = curr.left) {
                 stack.push(curr);
             }
@@ -253,17 +347,16 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
          * <p>
          * Сложная
          */
-        //Сложность O(1)
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
         @Override
         public void remove() {
             if (prev == null) {
                 throw new IllegalStateException();
             }
-            if (root == prevParent) {
-                BinarySearchTree.this.remove(prev.value);
-            } else {
-                BinarySearchTree.this.remove(prevParent, prev.value);
-            }
+            T value = prev.value;
+            BinarySearchTree.this.remove(value);
+            // Удаление узла с двумя детьми переносит на его место следующий узел, поэтому стек строится заново
+            seek(value, false);
             prev = null;
         }
     }
@@ -288,9 +381,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
     @NotNull
     @Override
     public SortedSet<T> subSet(T fromElement, T toElement) {
-        SubTree<T> subTree = new SubTree<>(fromElement, toElement, this);
-        subTrees.add(subTree);
-        return subTree;
+        return new SubTree<>(fromElement, toElement, this);
     }
 
     /**
@@ -311,9 +402,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
     @NotNull
     @Override
     public SortedSet<T> headSet(T toElement) {
-        SubTree<T> subTree = new SubTree<>(null, toElement, this);
-        subTrees.add(subTree);
-        return subTree;
+        return new SubTree<>(null, toElement, this);
     }
 
     /**
@@ -334,9 +423,7 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
     @NotNull
     @Override
     public SortedSet<T> tailSet(T fromElement) {
-        SubTree<T> subTree = new SubTree<>(fromElement, null, this);
-        subTrees.add(subTree);
-        return subTree;
+        return new SubTree<>(fromElement, null, this);
     }
 
     //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
@@ -361,24 +448,47 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
         return current.value;
     }
 
+    /**
+     * Высота - число уровней при обходе в ширину
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(n)
     public int height() {
-        return height(root);
-    }
-
-    private int height(Node<T> node) {
-        if (node == null) return 0;
-        return 1 + Math.max(height(node.left), height(node.right));
+        if (root == null) return 0;
+        int height = 0;
+        Deque<Node<T>> level = new ArrayDeque<>();
+        level.add(root);
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                Node<T> node = level.poll();
+                if (node.left != null) level.add(node.left);
+                if (node.right != null) level.add(node.right);
+            }
+        }
+        return height;
     }
 
+    /**
+     * Симметричный обход со стеком: значения должны строго возрастать
+     */
+    //Сложность O(n)
+    //Ресурсоёмкость O(высота дерева)
     public boolean checkInvariant() {
-        return root == null || checkInvariant(root);
-    }
-
-    private boolean checkInvariant(Node<T> node) {
-        Node<T> left = node.left;
-        if (left != null && (left.value.compareTo(node.value) >= 0 || !checkInvariant(left))) return false;
-        Node<T> right = node.right;
-        return right == null || right.value.compareTo(node.value) > 0 && checkInvariant(right);
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> previous = null;
+        Node<T> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (previous != null && previous.value.compareTo(current.value) >= 0) return false;
+            previous = current;
+            current = current.right;
+        }
+        return true;
     }
 
     private static class SubTree<T extends Comparable<T>> extends BinarySearchTree<T> {
@@ -392,6 +502,90 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
             this.parentTree = parentTree;
         }
 
+        private T maxFrom(T value) {
+            if (value == null) return fromElement;
+            return fromElement == null || value.compareTo(fromElement) > 0 ? value : fromElement;
+        }
+
+        private T minTo(T value) {
+            if (value == null) return toElement;
+            return toElement == null || value.compareTo(toElement) < 0 ? value : toElement;
+        }
+
+        /**
+         * Размер подмножества считается по рангам границ, без обхода элементов
+         */
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        @Override
+        public int size() {
+            return parentTree.countInRange(fromElement, toElement);
+        }
+
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        @Override
+        public int rank(T value) {
+            return parentTree.countInRange(fromElement, minTo(value));
+        }
+
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        @Override
+        public T select(int index) {
+            Objects.checkIndex(index, size());
+            return parentTree.select(index + (fromElement == null ? 0 : parentTree.rank(fromElement)));
+        }
+
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        @Override
+        public int countInRange(T fromElement, T toElement) {
+            return parentTree.countInRange(maxFrom(fromElement), minTo(toElement));
+        }
+
+        /**
+         * Обход подмножества начинается сразу с fromElement и заканчивается перед toElement
+         */
+        //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
+        @NotNull
+        @Override
+        public Iterator<T> iterator() {
+            return parentTree.new BinarySearchTreeIterator(fromElement, toElement);
+        }
+
+        //Сложность O(n)
+        @Override
+        public int height() {
+            return parentTree.height();
+        }
+
+        //Сложность O(n)
+        @Override
+        public boolean checkInvariant() {
+            return parentTree.checkInvariant();
+        }
+
+        /**
+         * Вложенные подмножества - пересечение диапазонов над тем же деревом
+         */
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement) {
+            return new SubTree<>(maxFrom(fromElement), minTo(toElement), parentTree);
+        }
+
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> headSet(T toElement) {
+            return new SubTree<>(fromElement, minTo(toElement), parentTree);
+        }
+
+        //Сложность O(1)
+        @NotNull
+        @Override
+        public SortedSet<T> tailSet(T fromElement) {
+            return new SubTree<>(maxFrom(fromElement), toElement, parentTree);
+        }
+
         //Сложность O(log(n)) - в среднем, O(n) - в худшем случае
         @Override
         public boolean contains(Object o) {
@@ -441,45 +635,36 @@ public class BinarySearchTree<T extends Comparable<T>> extends AbstractSet<T> im
             return closest.value;
         }
 
+        /**
+         * Наименьший узел не меньше fromElement, если он входит в подмножество
+         */
         private Node<T> findFirst(Node<T> start) {
-            if (start == null) {
-                return null;
-            }
-            int comparison = fromElement.compareTo(start.value);
-            if (comparison == 0) {
-                return start;
-            }
-            Node<T> ok = !isValueValid(start.value) ? null : start;
-            if (comparison < 0) {
-                if (start.left == null) return ok;
-                Node<T> smaller = findFirst(start.left);
-                return smaller == null ? ok : smaller;
-
-            } else {
-                if (start.right == null) return ok;
-                Node<T> bigger = findFirst(start.right);
-                return ok == null ? bigger : ok;
+            Node<T> result = null;
+            for (Node<T> current = start; current != null; ) {
+                if (fromElement == null || current.value.compareTo(fromElement) >= 0) {
+                    result = current;
+                    current = current.left;
+                } else {
+                    current = current.right;
+                }
             }
-
+            return result != null && isValueValid(result.value) ? result : null;
         }
 
+        /**
+         * Наибольший узел меньше toElement, если он входит в подмножество
+         */
         private Node<T> findLast(Node<T> start) {
-            if (start == null) {
-                return null;
-            }
-            int comparison = toElement.compareTo(start.value);
-            Node<T> ok = !isValueValid(start.value) ? null : start;
-            if (comparison <= 0) {
-                if (start.left == null) return ok;
-                Node<T> smaller = findLast(start.left);
-                return ok == null ? smaller : ok;
-
-            } else {
-                if (start.right == null) return ok;
-                Node<T> bigger = findLast(start.right);
-                return bigger == null ? ok : bigger;
+            Node<T> result = null;
+            for (Node<T> current = start; current != null; ) {
+                if (toElement == null || current.value.compareTo(toElement) < 0) {
+                    result = current;
+                    current = current.right;
+                } else {
+                    current = current.left;
+                }
             }
-
+            return result != null && isValueValid(result.value) ? result : null;
         }
 
         private boolean isValueValid(T value) {
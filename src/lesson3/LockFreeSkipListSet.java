@@ -0,0 +1,509 @@
+package lesson3;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Неблокирующий список с пропусками (Herlihy, Shavit), потокобезопасное упорядоченное множество
+ * <p>
+ * Каждая ссылка на следующий узел хранится вместе с пометкой удаления. Удаление сначала помечает
+ * ссылки узла сверху вниз, и элемент считается удалённым с момента пометки нижней ссылки,
+ * а физически узел вырезается при следующем проходе find. Добавление считается выполненным,
+ * когда узел связан на нижнем уровне. contains и итераторы не изменяют список и не блокируются.
+ * <p>
+ * Итераторы слабо согласованы: они не бросают ConcurrentModificationException, возвращают
+ * элементы по возрастанию и видят все элементы, которые были в множестве всё время обхода.
+ * size() точен только при отсутствии одновременных изменений.
+ */
+// attention: Comparable is supported but Comparator is not
+public class LockFreeSkipListSet<T extends Comparable<T>> extends AbstractSet<T> implements CheckableSortedSet<T> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node<T> {
+        final T value;
+        final AtomicMarkableReference<Node<T>>[] next;
+        final int topLevel;
+
+        @SuppressWarnings("unchecked")
+        Node(T value, int topLevel) {
+            this.value = value;
+            this.topLevel = topLevel;
+            next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference[topLevel + 1];
+        }
+    }
+
+    private final Node<T> head = new Node<>(null, MAX_LEVEL - 1);
+    private final Node<T> tail = new Node<>(null, MAX_LEVEL - 1);
+    private final LongAdder size = new LongAdder();
+    // Номер верхнего уровня, на котором могут быть узлы: поиск начинается с него, а не с MAX_LEVEL - 1
+    private final AtomicInteger topLevel = new AtomicInteger(0);
+
+    public LockFreeSkipListSet() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+            tail.next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /**
+     * Уровень нового узла: уровень i выбирается с вероятностью 2^-(i + 1)
+     */
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(bits), MAX_LEVEL - 1);
+    }
+
+    private boolean less(Node<T> node, T value) {
+        return node != tail && node.value.compareTo(value) < 0;
+    }
+
+    /**
+     * Поиск предшественников и преемников value на каждом уровне с вырезанием помеченных узлов.
+     * Заполняются уровни от fromLevel до нуля.
+     * Возвращает true, если на нижнем уровне найден узел со значением value.
+     */
+    private boolean find(T value, Node<T>[] preds, Node<T>[] succs, int fromLevel) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            for (int level = fromLevel; level >= 0; level--) {
+                Node<T> curr = pred.next[level].getReference();
+                while (true) {
+                    Node<T> succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (less(curr, value)) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != tail && succs[0].value.compareTo(value) == 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newPath() {
+        return (Node<T>[]) new Node[MAX_LEVEL];
+    }
+
+    /**
+     * Первый непомеченный узел нижнего уровня со значением не меньше from (больше from, если inclusive = false).
+     * Спуск идёт без изменения списка, помеченные узлы пропускаются.
+     */
+    private Node<T> ceiling(T from, boolean inclusive) {
+        boolean[] marked = {false};
+        Node<T> pred = head;
+        Node<T> curr = tail;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != tail) {
+                Node<T> succ = curr.next[level].get(marked);
+                if (marked[0]) {
+                    curr = succ;
+                    continue;
+                }
+                int comparison = from == null ? 1 : curr.value.compareTo(from);
+                if (comparison < 0 || comparison == 0 && !inclusive) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr == tail ? null : curr;
+    }
+
+    /**
+     * Следующий после node непомеченный узел нижнего уровня или null
+     */
+    private Node<T> successor(Node<T> node) {
+        boolean[] marked = {false};
+        Node<T> curr = node.next[0].getReference();
+        while (curr != tail) {
+            Node<T> succ = curr.next[0].get(marked);
+            if (!marked[0]) {
+                return curr;
+            }
+            curr = succ;
+        }
+        return null;
+    }
+
+    //Сложность O(1), точный размер - только без одновременных изменений
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, size.sum()));
+    }
+
+    //Сложность O(1) в среднем
+    @Override
+    public boolean isEmpty() {
+        return successor(head) == null;
+    }
+
+    //Сложность O(log(n)) в среднем
+    @Override
+    public boolean contains(Object o) {
+        @SuppressWarnings("unchecked")
+        T t = (T) o;
+        Node<T> node = ceiling(t, true);
+        return node != null && node.value.compareTo(t) == 0;
+    }
+
+    //Сложность O(log(n)) в среднем
+    @Override
+    public boolean add(T t) {
+        Objects.requireNonNull(t);
+        int nodeLevel = randomLevel();
+        int fromLevel = topLevel.get();
+        if (nodeLevel > fromLevel) {
+            fromLevel = topLevel.accumulateAndGet(nodeLevel, Math::max);
+        }
+        Node<T>[] preds = newPath();
+        Node<T>[] succs = newPath();
+        boolean[] marked = {false};
+        while (true) {
+            if (find(t, preds, succs, fromLevel)) {
+                return false;
+            }
+            Node<T> newNode = new Node<>(t, nodeLevel);
+            for (int level = 0; level <= nodeLevel; level++) {
+                newNode.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) {
+                continue;
+            }
+            size.increment();
+            // Верхние уровни только ускоряют поиск, узел уже в множестве
+            for (int level = 1; level <= nodeLevel; level++) {
+                while (true) {
+                    Node<T> succ = succs[level];
+                    Node<T> current = newNode.next[level].get(marked);
+                    if (marked[0]) {
+                        // Узел уже удаляют, связывать его дальше не нужно
+                        return true;
+                    }
+                    if (current != succ && !newNode.next[level].compareAndSet(current, succ, false, false)) {
+                        continue;
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, newNode, false, false)) {
+                        break;
+                    }
+                    find(t, preds, succs, fromLevel);
+                }
+            }
+            return true;
+        }
+    }
+
+    //Сложность O(log(n)) в среднем
+    @Override
+    public boolean remove(Object o) {
+        @SuppressWarnings("unchecked")
+        T t = (T) o;
+        Node<T>[] preds = newPath();
+        Node<T>[] succs = newPath();
+        int fromLevel = topLevel.get();
+        if (!find(t, preds, succs, fromLevel)) {
+            return false;
+        }
+        Node<T> victim = succs[0];
+        boolean[] marked = {false};
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node<T> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].attemptMark(succ, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node<T> succ = victim.next[0].get(marked);
+        while (true) {
+            // Элемент удаляет тот поток, которому удалось пометить нижнюю ссылку
+            boolean markedByThis = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (markedByThis) {
+                size.decrement();
+                find(t, preds, succs, fromLevel);
+                return true;
+            } else if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public Comparator<? super T> comparator() {
+        return null;
+    }
+
+    //Сложность O(1)
+    @Override
+    public T first() {
+        Node<T> node = successor(head);
+        if (node == null) throw new NoSuchElementException();
+        return node.value;
+    }
+
+    private Node<T> lastNode(T toElement) {
+        boolean[] marked = {false};
+        Node<T> pred = head;
+        for (int level = topLevel.get(); level >= 0; level--) {
+            Node<T> curr = pred.next[level].getReference();
+            while (curr != tail) {
+                Node<T> succ = curr.next[level].get(marked);
+                if (!marked[0]) {
+                    if (toElement != null && curr.value.compareTo(toElement) >= 0) break;
+                    pred = curr;
+                }
+                curr = succ;
+            }
+        }
+        return pred == head ? null : pred;
+    }
+
+    //Сложность O(log(n)) в среднем
+    @Override
+    public T last() {
+        Node<T> node = lastNode(null);
+        if (node == null) throw new NoSuchElementException();
+        return node.value;
+    }
+
+    //Сложность O(log(n)) в среднем на создание итератора, O(1) в среднем на элемент
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return new SkipListIterator(null, null);
+    }
+
+    /**
+     * Слабо согласованный итератор по [fromElement, toElement), null означает отсутствие границы
+     */
+    private class SkipListIterator implements Iterator<T> {
+        private final T toElement;
+        private Node<T> next;
+        private T prev = null;
+
+        SkipListIterator(T fromElement, T toElement) {
+            this.toElement = toElement;
+            next = bounded(ceiling(fromElement, true));
+        }
+
+        private Node<T> bounded(Node<T> node) {
+            return node == null || toElement != null && node.value.compareTo(toElement) >= 0 ? null : node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            prev = next.value;
+            next = bounded(successor(next));
+            return prev;
+        }
+
+        @Override
+        public void remove() {
+            if (prev == null) {
+                throw new IllegalStateException();
+            }
+            LockFreeSkipListSet.this.remove(prev);
+            prev = null;
+        }
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) {
+        return new Range(Objects.requireNonNull(fromElement), Objects.requireNonNull(toElement));
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        return new Range(null, Objects.requireNonNull(toElement));
+    }
+
+    //Сложность O(1)
+    @NotNull
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        return new Range(Objects.requireNonNull(fromElement), null);
+    }
+
+    /**
+     * Число используемых уровней списка, у пустого списка - ноль
+     */
+    //Сложность O(1)
+    @Override
+    public int height() {
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            if (head.next[level].getReference() != tail) {
+                return level + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Непомеченные узлы каждого уровня строго возрастают, а их число на нижнем уровне равно size().
+     * Проверка имеет смысл только без одновременных изменений.
+     */
+    //Сложность O(n)
+    @Override
+    public boolean checkInvariant() {
+        boolean[] marked = {false};
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            long count = 0;
+            Node<T> previous = null;
+            for (Node<T> curr = head.next[level].getReference(); curr != tail; ) {
+                Node<T> succ = curr.next[level].get(marked);
+                if (!marked[0]) {
+                    if (previous != null && previous.value.compareTo(curr.value) >= 0) return false;
+                    previous = curr;
+                    count++;
+                }
+                curr = succ;
+            }
+            if (level == 0 && count != size.sum()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Представление элементов из [fromElement, toElement), null означает отсутствие границы
+     */
+    private class Range extends AbstractSet<T> implements SortedSet<T> {
+        private final T fromElement;
+        private final T toElement;
+
+        Range(T fromElement, T toElement) {
+            this.fromElement = fromElement;
+            this.toElement = toElement;
+        }
+
+        private boolean inRange(T value) {
+            return (fromElement == null || value.compareTo(fromElement) >= 0)
+                    && (toElement == null || value.compareTo(toElement) < 0);
+        }
+
+        private T maxFrom(T value) {
+            return fromElement == null || value.compareTo(fromElement) > 0 ? value : fromElement;
+        }
+
+        private T minTo(T value) {
+            return toElement == null || value.compareTo(toElement) < 0 ? value : toElement;
+        }
+
+        //Сложность O(log(n) + k) в среднем, где k - размер подмножества
+        @Override
+        public int size() {
+            int count = 0;
+            for (Iterator<T> it = iterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            @SuppressWarnings("unchecked")
+            T t = (T) o;
+            return inRange(t) && LockFreeSkipListSet.this.contains(t);
+        }
+
+        @Override
+        public boolean add(T t) {
+            if (!inRange(t)) {
+                throw new IllegalArgumentException();
+            }
+            return LockFreeSkipListSet.this.add(t);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            @SuppressWarnings("unchecked")
+            T t = (T) o;
+            if (!inRange(t)) {
+                throw new IllegalArgumentException();
+            }
+            return LockFreeSkipListSet.this.remove(t);
+        }
+
+        @NotNull
+        @Override
+        public Iterator<T> iterator() {
+            return new SkipListIterator(fromElement, toElement);
+        }
+
+        @Nullable
+        @Override
+        public Comparator<? super T> comparator() {
+            return null;
+        }
+
+        @NotNull
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement) {
+            return new Range(maxFrom(fromElement), minTo(toElement));
+        }
+
+        @NotNull
+        @Override
+        public SortedSet<T> headSet(T toElement) {
+            return new Range(fromElement, minTo(toElement));
+        }
+
+        @NotNull
+        @Override
+        public SortedSet<T> tailSet(T fromElement) {
+            return new Range(maxFrom(fromElement), toElement);
+        }
+
+        @Override
+        public T first() {
+            Iterator<T> iterator = iterator();
+            if (!iterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public T last() {
+            Node<T> node = lastNode(toElement);
+            if (node == null || !inRange(node.value)) {
+                throw new NoSuchElementException();
+            }
+            return node.value;
+        }
+    }
+}
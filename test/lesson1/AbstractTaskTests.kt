@@ -1,8 +1,12 @@
 package lesson1
 
 import org.junit.jupiter.api.Assertions.assertArrayEquals
+import util.Complexity
 import util.PerfResult
+import util.assertComplexity
 import util.estimate
+import util.geometricSizes
+import util.measure
 import java.io.BufferedWriter
 import java.io.File
 import java.util.*
@@ -175,6 +179,24 @@ abstract class AbstractTaskTests : AbstractFileTests() {
         println("sortTemperatures: $perf")
     }
 
+    /**
+     * Проверка роста времени sortTemperatures на входах от 4 тысяч до 2 миллионов строк
+     */
+    protected fun sortTemperaturesComplexity(declared: Complexity, sortTemperatures: (String, String) -> Unit) {
+        val perf = measure(TEMPERATURE_SIZES) { size ->
+            try {
+                val res = generateTemperatures(size)
+                val time = measureNanoTime { sortTemperatures("temp_unsorted.txt", "temp_sorted_actual.txt") }
+                res.copy(time = time)
+            } finally {
+                File("temp_unsorted.txt").delete()
+                File("temp_sorted_expected.txt").delete()
+                File("temp_sorted_actual.txt").delete()
+            }
+        }
+        println("sortTemperatures: ${assertComplexity(declared, perf)}")
+    }
+
     private fun generateSequence(totalSize: Int, answerSize: Int): PerfResult<Unit> {
         val random = Random()
         val numbers = mutableListOf<Int>()
@@ -360,6 +382,24 @@ abstract class AbstractTaskTests : AbstractFileTests() {
         println("sortSequence: $perf")
     }
 
+    /**
+     * Проверка роста времени sortSequence на входах от 512 до 256 тысяч чисел
+     */
+    protected fun sortSequenceComplexity(declared: Complexity, sortSequence: (String, String) -> Unit) {
+        val perf = measure(SEQUENCE_SIZES) { size ->
+            try {
+                val res = generateSequence(size, size / 20)
+                val time = measureNanoTime { sortSequence("temp_sequence.txt", "temp.txt") }
+                res.copy(time = time)
+            } finally {
+                File("temp_sequence_expected.txt").delete()
+                File("temp_sequence.txt").delete()
+                File("temp.txt").delete()
+            }
+        }
+        println("sortSequence: ${assertComplexity(declared, perf)}")
+    }
+
     private fun generateArrays(
         firstSize: Int,
         secondSize: Int
@@ -406,4 +446,18 @@ abstract class AbstractTaskTests : AbstractFileTests() {
 
         println("mergeArrays: $perf")
     }
+
+    companion object {
+        /**
+         * Ряды размеров для проверок роста времени. Размах в сотни раз нужен, чтобы рост O(n*log(n))
+         * заметно отличался от O(n): на ряду в 32 раза они расходятся меньше, чем шум замеров.
+         */
+        val TEMPERATURE_SIZES = geometricSizes(2, 512)
+        val SEQUENCE_SIZES = geometricSizes(1 shl 9, 1 shl 18)
+
+        /**
+         * Ожидаемое число строк generateTemperatures(size): в среднем (size - 1) / 2 на каждую из 7731 температур
+         */
+        fun temperatureLines(size: Int) = 7731 * (size - 1) / 2
+    }
 }
@@ -0,0 +1,38 @@
+package lesson1
+
+import org.junit.jupiter.api.Tag
+import util.Complexity
+import util.PerfResult
+import util.assertComplexity
+import kotlin.math.ln
+import kotlin.test.Test
+import kotlin.test.assertFailsWith
+
+/**
+ * Ряды размеров проверок роста времени в AbstractTaskTests должны ловить регрессию O(n) -> O(n*log(n))
+ */
+class ComplexityLaddersTest {
+    private val noise = listOf(1.1, 0.9, 1.05, 0.95, 1.0, 1.1, 0.9, 1.0, 1.05, 0.95)
+
+    private fun synthetic(sizes: List<Int>, time: (Double) -> Double) =
+        sizes.mapIndexed { index, size ->
+            PerfResult(size = size, time = (time(size.toDouble()) * noise[index % noise.size]).toLong(), data = Unit)
+        }
+
+    private fun detectsLinearithmic(sizes: List<Int>) {
+        assertComplexity(Complexity.LINEAR, synthetic(sizes) { 10 * it + 100_000 })
+        assertFailsWith<AssertionError> { assertComplexity(Complexity.LINEAR, synthetic(sizes) { 10 * it * ln(it) }) }
+    }
+
+    @Test
+    @Tag("1")
+    fun temperatureSizes() {
+        detectsLinearithmic(AbstractTaskTests.TEMPERATURE_SIZES.map { AbstractTaskTests.temperatureLines(it) })
+    }
+
+    @Test
+    @Tag("1")
+    fun sequenceSizes() {
+        detectsLinearithmic(AbstractTaskTests.SEQUENCE_SIZES)
+    }
+}
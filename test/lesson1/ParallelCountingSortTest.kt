@@ -0,0 +1,79 @@
+package lesson1
+
+import org.junit.jupiter.api.Tag
+import java.io.File
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ForkJoinPool
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class ParallelCountingSortTest {
+    private fun sorted(input: File, format: ParallelCountingSort.KeyFormat, pool: ForkJoinPool, maxChunkSize: Int): String {
+        val output = File.createTempFile("sorted", ".txt")
+        try {
+            ParallelCountingSort.sort(input.path, output.path, format, pool, maxChunkSize)
+            return output.readText()
+        } finally {
+            output.delete()
+        }
+    }
+
+    private fun chunkBounds(input: File, maxChunkSize: Int): List<Long> =
+        FileChannel.open(input.toPath(), StandardOpenOption.READ).use {
+            FileChunks.splitAtLines(it, FileChunks.chunkSize(it.size(), 2, maxChunkSize)).toList()
+        }
+
+    /**
+     * Разбиение на много мелких кусков должно давать тот же результат, что и один кусок,
+     * в том числе когда последняя строка не оканчивается '\n' и граница куска приходится на её начало
+     */
+    private fun multiChunk(inputName: String, format: ParallelCountingSort.KeyFormat) {
+        val single = ForkJoinPool(1)
+        val pool = ForkJoinPool(2)
+        val input = File.createTempFile("unterminated", ".txt")
+        try {
+            val original = File(inputName)
+            val unterminated = original.readText().trimEnd('\n')
+            input.writeText(unterminated)
+            val lastLineStart = unterminated.lastIndexOf('\n') + 1L
+            val expected = sorted(original, format, single, ParallelCountingSort.DEFAULT_CHUNK_SIZE)
+            assertEquals(expected, sorted(input, format, single, ParallelCountingSort.DEFAULT_CHUNK_SIZE))
+            var lastLineBoundary = lastLineStart == 0L
+            for (maxChunkSize in listOf(1, 7, 16, 64)) {
+                if (lastLineStart > 0 && input.length() > 2L * maxChunkSize) {
+                    assertTrue(chunkBounds(input, maxChunkSize).size > 2)
+                }
+                assertEquals(expected, sorted(original, format, pool, maxChunkSize))
+                assertEquals(expected, sorted(input, format, pool, maxChunkSize))
+            }
+            // Подбираем размер куска так, чтобы граница пришлась ровно на начало последней строки
+            for (maxChunkSize in 1..64) {
+                if (lastLineStart in chunkBounds(input, maxChunkSize)) {
+                    lastLineBoundary = true
+                    assertEquals(expected, sorted(input, format, pool, maxChunkSize))
+                }
+            }
+            assertTrue(lastLineBoundary, "No chunk boundary at the last line of $inputName")
+        } finally {
+            input.delete()
+            single.shutdown()
+            pool.shutdown()
+        }
+    }
+
+    @Test
+    @Tag("3")
+    fun multiChunkTemperatures() {
+        multiChunk("input/temp_in1.txt", JavaTasks.TEMPERATURE_FORMAT)
+    }
+
+    @Test
+    @Tag("3")
+    fun multiChunkTimes() {
+        for (inputName in listOf("input/time_in1.txt", "input/time_in2.txt", "input/time_in3.txt")) {
+            multiChunk(inputName, JavaTasks.TIME_FORMAT)
+        }
+    }
+}
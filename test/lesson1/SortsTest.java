@@ -3,8 +3,11 @@ package lesson1;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,6 +78,26 @@ public class SortsTest {
         assertSorted(arr, "MERGE SORT LONG");
     }
 
+    @Test
+    @Tag("Example")
+    public void longMergeSortWithBuffer() {
+        int LENGTH = 65536;
+        int[] buffer = new int[1 << 20];
+        for (int k = 0; k < 4; k++) {
+            int[] arr = new int[LENGTH];
+            for (int i=0; i<LENGTH; i++) {
+                arr[i] = r.nextInt();
+            }
+            Sorts.mergeSort(arr, buffer);
+            assertSorted(arr, "MERGE SORT WITH BUFFER");
+        }
+        for (int[] adversarial : adversarialArrays(1 << 20)) {
+            Sorts.mergeSort(adversarial, buffer);
+            assertSorted(adversarial, "MERGE SORT WITH BUFFER ADVERSARIAL");
+        }
+        assertThrows(IllegalArgumentException.class, () -> Sorts.mergeSort(new int[] { 2, 1 }, new int[1]));
+    }
+
     @Test
     @Tag("Example")
     public void longHeapSort() {
@@ -107,6 +130,113 @@ public class SortsTest {
         assertSorted(arr, "QUICK SORT LONG");
     }
 
+    private static int[][] adversarialArrays(int length) {
+        int[] sorted = new int[length], reversed = new int[length], fewUnique = new int[length], organPipe = new int[length];
+        for (int i = 0; i < length; i++) {
+            sorted[i] = i;
+            reversed[i] = length - i;
+            fewUnique[i] = r.nextInt(4);
+            organPipe[i] = i < length / 2 ? i : length - i;
+        }
+        return new int[][] { sorted, reversed, fewUnique, organPipe };
+    }
+
+    @Test
+    @Tag("Example")
+    public void introSort() {
+        int[] arr = new int[] { 3, 7, 5, 9, 1, 6, 19, 13 };
+        Sorts.introSort(arr);
+        assertSorted(arr, "INTRO SORT");
+    }
+
+    @Test
+    @Tag("Example")
+    public void longIntroSort() {
+        int LENGTH = 65536;
+        int[] arr = new int[LENGTH];
+        for (int i=0; i<LENGTH; i++) {
+            arr[i] = r.nextInt();
+        }
+        Sorts.introSort(arr);
+        assertSorted(arr, "INTRO SORT LONG");
+        for (int[] adversarial : adversarialArrays(1 << 20)) {
+            Sorts.introSort(adversarial);
+            assertSorted(adversarial, "INTRO SORT ADVERSARIAL");
+        }
+    }
+
+    @Test
+    @Tag("Example")
+    public void dualPivotQuickSort() {
+        int[] arr = new int[] { 3, 7, 5, 9, 1, 6, 19, 13 };
+        Sorts.dualPivotQuickSort(arr);
+        assertSorted(arr, "DUAL PIVOT QUICK SORT");
+    }
+
+    @Test
+    @Tag("Example")
+    public void longDualPivotQuickSort() {
+        int LENGTH = 65536;
+        int[] arr = new int[LENGTH];
+        for (int i=0; i<LENGTH; i++) {
+            arr[i] = r.nextInt();
+        }
+        Sorts.dualPivotQuickSort(arr);
+        assertSorted(arr, "DUAL PIVOT QUICK SORT LONG");
+        for (int[] adversarial : adversarialArrays(1 << 20)) {
+            Sorts.dualPivotQuickSort(adversarial);
+            assertSorted(adversarial, "DUAL PIVOT QUICK SORT ADVERSARIAL");
+        }
+    }
+
+    @Test
+    @Tag("Example")
+    public void twoValuedDualPivotQuickSort() {
+        // Два различных опорных элемента 0 и 1 оставляли всё в средней части: O(n^2)
+        int LENGTH = 1 << 20;
+        int[] alternating = new int[LENGTH], blocks = new int[LENGTH], random = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            alternating[i] = i % 2;
+            blocks[i] = (i / 1000) % 2;
+            random[i] = r.nextBoolean() ? 7 : -7;
+        }
+        for (int[] arr : new int[][] { alternating, blocks, random }) {
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> Sorts.dualPivotQuickSort(arr));
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    @Tag("Example")
+    public void longParallelSorts() {
+        int LENGTH = 1 << 20;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int threshold : new int[] { 1, 1000, Sorts.DEFAULT_PARALLEL_THRESHOLD }) {
+                int[] arr = new int[LENGTH];
+                for (int i=0; i<LENGTH; i++) {
+                    arr[i] = r.nextInt();
+                }
+                int[] copy = arr.clone();
+                Sorts.parallelMergeSort(arr, pool, threshold);
+                assertSorted(arr, "PARALLEL MERGE SORT LONG");
+                Sorts.parallelQuickSort(copy, pool, threshold);
+                assertArrayEquals(arr, copy);
+            }
+            for (int[] adversarial : adversarialArrays(LENGTH)) {
+                int[] copy = adversarial.clone();
+                Sorts.parallelMergeSort(adversarial);
+                assertSorted(adversarial, "PARALLEL MERGE SORT ADVERSARIAL");
+                Sorts.parallelQuickSort(copy);
+                assertArrayEquals(adversarial, copy);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     @Tag("Example")
     public void longCountingSort() {
@@ -121,4 +251,58 @@ public class SortsTest {
         Sorts.quickSort(arr);
         assertArrayEquals(arr, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Tag("Example")
+    public void longRadixSort() {
+        int LENGTH = 1 << 18;
+        int[] arr = new int[LENGTH];
+        for (int i=0; i<LENGTH; i++) {
+            arr[i] = r.nextInt();
+        }
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        Sorts.radixSort(arr);
+        assertArrayEquals(expected, arr);
+        for (int[] adversarial : adversarialArrays(LENGTH)) {
+            Sorts.radixSort(adversarial);
+            assertSorted(adversarial, "RADIX SORT ADVERSARIAL");
+        }
+    }
+
+    @Test
+    @Tag("Example")
+    public void longRadixSortLongs() {
+        int LENGTH = 1 << 18;
+        long[] arr = new long[LENGTH];
+        for (int i=0; i<LENGTH; i++) {
+            arr[i] = i % 2 == 0 ? r.nextLong() : r.nextInt(1000) - 500;
+        }
+        long[] expected = arr.clone();
+        Arrays.sort(expected);
+        Sorts.radixSort(arr);
+        assertArrayEquals(expected, arr);
+    }
+
+    @Test
+    @Tag("Example")
+    public void sortByKey() {
+        String[] arr = new String[] { "beta", "omega", "alpha", "", "!!!", "teta", "O" };
+        Sorts.sortByIntKey(arr, String::length);
+        assertArrayEquals(new String[] { "", "O", "!!!", "beta", "teta", "omega", "alpha" }, arr);
+        Sorts.sortByLongKey(arr, s -> -(long) s.hashCode() << 20);
+        for (int i = 0; i < arr.length - 1; i++) {
+            assertTrue(arr[i].hashCode() >= arr[i + 1].hashCode());
+        }
+
+        int LENGTH = 65536;
+        Integer[] numbers = new Integer[LENGTH];
+        for (int i=0; i<LENGTH; i++) {
+            numbers[i] = r.nextInt();
+        }
+        Integer[] expected = numbers.clone();
+        Arrays.sort(expected);
+        Sorts.sortByIntKey(numbers, Integer::intValue);
+        assertArrayEquals(expected, numbers);
+    }
+}
@@ -1,7 +1,12 @@
 package lesson1
 
 import org.junit.jupiter.api.Tag
+import util.declaredComplexity
+import java.util.*
+import kotlin.math.log2
 import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
 
 class TaskTestsJava : AbstractTaskTests() {
 
@@ -17,6 +22,13 @@ class TaskTestsJava : AbstractTaskTests() {
         sortAddresses { inputName, outputName -> JavaTasks.sortAddresses(inputName, outputName) }
     }
 
+    @Test
+    @Tag("4")
+    fun testSortAddressesExternalJava() {
+        // Бюджет на две порции буферов: вход разбивается на сотни порций и сливается в несколько проходов
+        sortAddresses { inputName, outputName -> ExternalAddressSort(1L shl 17).sort(inputName, outputName) }
+    }
+
     @Test
     @Tag("4")
     fun testSortTemperaturesJava() {
@@ -29,9 +41,74 @@ class TaskTestsJava : AbstractTaskTests() {
         sortSequence { inputName, outputName -> JavaTasks.sortSequence(inputName, outputName) }
     }
 
+    @Test
+    @Tag("4")
+    @Tag("Complexity")
+    fun testSortTemperaturesComplexityJava() {
+        sortTemperaturesComplexity(declaredComplexity("src/lesson1/JavaTasks.java", "sortTemperatures")) { inputName, outputName ->
+            JavaTasks.sortTemperatures(inputName, outputName)
+        }
+    }
+
+    @Test
+    @Tag("4")
+    @Tag("Complexity")
+    fun testSortSequenceComplexityJava() {
+        sortSequenceComplexity(declaredComplexity("src/lesson1/JavaTasks.java", "sortSequence")) { inputName, outputName ->
+            JavaTasks.sortSequence(inputName, outputName)
+        }
+    }
+
     @Test
     @Tag("2")
     fun testMergeArraysJava() {
         mergeArrays { first, second -> JavaTasks.mergeArrays<Int?>(first, second) }
     }
+
+    private class CountingKey(val value: Int, val comparisons: IntArray) : Comparable<CountingKey?> {
+        override fun compareTo(other: CountingKey?): Int {
+            comparisons[0]++
+            return value.compareTo(other!!.value)
+        }
+    }
+
+    @Test
+    @Tag("2")
+    fun testMergeArraysComparisonsJava() {
+        // Маленький first и большой second: сравнений O(m*log(n/m + 1)), а не O(n)
+        val random = Random(42)
+        for ((firstSize, secondSize) in listOf(10 to 1_000_000, 1000 to 1_000_000)) {
+            val comparisons = IntArray(1)
+            val firstValues = IntArray(firstSize) { random.nextInt(secondSize * 10) }.sorted()
+            val first = Array(firstSize) { CountingKey(firstValues[it], comparisons) }
+            val second = arrayOfNulls<CountingKey>(firstSize + secondSize)
+            for (i in 0 until secondSize) second[firstSize + i] = CountingKey(i * 10, comparisons)
+            JavaTasks.mergeArrays<CountingKey?>(first, second)
+            val expected = (firstValues + List(secondSize) { it * 10 }).sorted()
+            assertEquals(expected, second.map { it!!.value })
+            val bound = 4 * firstSize * (log2(secondSize / firstSize + 1.0) + 8)
+            println("mergeArrays($firstSize, $secondSize): ${comparisons[0]} comparisons, bound $bound")
+            assertTrue(comparisons[0] < bound)
+        }
+    }
+
+    @Test
+    @Tag("2")
+    fun testMergeIntArraysJava() {
+        mergeArrays { first, second ->
+            val primitive = IntArray(second.size) { second[it] ?: 0 }
+            JavaTasks.mergeArrays(first.toIntArray(), primitive)
+            for (i in primitive.indices) second[i] = primitive[i]
+        }
+    }
+
+    @Test
+    @Tag("2")
+    fun testMergeLongArraysJava() {
+        mergeArrays { first, second ->
+            val primitive = LongArray(second.size) { (second[it] ?: 0).toLong() }
+            JavaTasks.mergeArrays(LongArray(first.size) { first[it].toLong() }, primitive)
+            for (i in primitive.indices) second[i] = primitive[i].toInt()
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package lesson2
 
 import org.junit.jupiter.api.Tag
+import java.util.concurrent.ForkJoinPool
 import kotlin.test.Test
+import kotlin.test.assertEquals
 
 class AlgorithmsTestsJava : AbstractAlgorithmsTests() {
     @Test
@@ -10,21 +12,70 @@ class AlgorithmsTestsJava : AbstractAlgorithmsTests() {
         optimizeBuyAndSell { JavaAlgorithms.optimizeBuyAndSell(it) }
     }
 
+    @Test
+    @Tag("2")
+    fun testOptimizeBuyAndSellParallelJava() {
+        val pool = ForkJoinPool(4)
+        try {
+            optimizeBuyAndSell { BuySellOptimizer.optimizeParallel(it, pool, 64) }
+        } finally {
+            pool.shutdown()
+        }
+    }
+
     @Test
     @Tag("2")
     fun testJosephTaskJava() {
         josephTask { menNumber, choiceInterval -> JavaAlgorithms.josephTask(menNumber, choiceInterval) }
     }
 
+    @Test
+    @Tag("2")
+    fun testJosephTaskLongJava() {
+        josephTask { menNumber, choiceInterval ->
+            JavaAlgorithms.josephTask(menNumber.toLong(), choiceInterval.toLong()).toInt()
+        }
+        josephTask { menNumber, choiceInterval -> Josephus.survivorLinear(menNumber.toLong(), choiceInterval.toLong()).toInt() }
+        assertEquals(1L shl 40, JavaAlgorithms.josephTask(1L shl 40, 1))
+        assertEquals(1L, JavaAlgorithms.josephTask(1L shl 40, 2))
+        for (menNumber in 1..200) {
+            for (choiceInterval in 1..30) {
+                val order = Josephus.eliminationOrder(menNumber, choiceInterval.toLong())
+                assertEquals(menNumber, order.distinct().size)
+                assertEquals(JavaAlgorithms.josephTask(menNumber, choiceInterval), order.last())
+            }
+        }
+        assertEquals(listOf(5, 2, 8, 7, 1, 4, 6, 3), Josephus.eliminationOrder(8, 5).toList())
+    }
+
     @Test
     @Tag("4")
     fun testLongestCommonSubstringJava() {
         longestCommonSubstring { first, second -> JavaAlgorithms.longestCommonSubstring(first, second) }
     }
 
+    @Test
+    @Tag("4")
+    fun testLongestCommonSubstringByRowsJava() {
+        longestCommonSubstring { first, second -> JavaAlgorithms.longestCommonSubstringByRows(first, second) }
+    }
+
+    @Test
+    @Tag("4")
+    fun testLongestCommonSubstringByDiagonalsJava() {
+        longestCommonSubstring { first, second -> JavaAlgorithms.longestCommonSubstringByDiagonals(first, second) }
+    }
+
     @Test
     @Tag("3")
     fun testCalcPrimesNumberJava() {
         calcPrimesNumber { JavaAlgorithms.calcPrimesNumber(it) }
     }
-}
\ No newline at end of file
+
+    @Test
+    @Tag("3")
+    fun testCalcPrimesNumberLongJava() {
+        calcPrimesNumber { JavaAlgorithms.calcPrimesNumber(it.toLong()).toInt() }
+        assertEquals(105097565L, JavaAlgorithms.calcPrimesNumber(Int.MAX_VALUE.toLong()))
+    }
+}
@@ -0,0 +1,59 @@
+package lesson2
+
+import org.junit.jupiter.api.Tag
+import java.util.*
+import kotlin.test.*
+
+class BuySellWindowTest {
+    private fun bruteForce(prices: List<Int>, from: Int): Pair<Long, Long> {
+        var best = Long.MIN_VALUE
+        var result = 0L to 0L
+        for (sell in from + 1 until prices.size) {
+            for (buy in from until sell) {
+                if (prices[sell] - prices[buy] > best) {
+                    best = (prices[sell] - prices[buy]).toLong()
+                    result = buy + 1L to sell + 1L
+                }
+            }
+        }
+        return result
+    }
+
+    @Test
+    @Tag("2")
+    fun wholeHistory() {
+        val window = BuySellWindow()
+        assertFailsWith<IllegalStateException> { window.best() }
+        window.addAll(intArrayOf(201, 196, 190, 198))
+        assertEquals(3L to 4L, window.best())
+        window.addAll(intArrayOf(187, 194, 193, 185))
+        assertEquals(3L to 4L, window.best())
+        assertEquals(8L, window.bestProfit())
+        window.add(400)
+        assertEquals(8L to 9L, window.best())
+        assertFailsWith<IllegalArgumentException> { window.add(0) }
+    }
+
+    @Test
+    @Tag("2")
+    fun slidingWindow() {
+        val random = Random(42)
+        for (size in listOf(2, 3, 7, 50)) {
+            val window = BuySellWindow(size)
+            val prices = mutableListOf<Int>()
+            for (step in 1..500) {
+                val batch = IntArray(random.nextInt(4)) { 1 + random.nextInt(10) }
+                window.addAll(batch)
+                prices += batch.toList()
+                val from = maxOf(0, prices.size - size)
+                if (prices.size - from >= 2) {
+                    assertEquals(bruteForce(prices, from), window.best())
+                } else {
+                    assertFailsWith<IllegalStateException> { window.best() }
+                }
+            }
+            assertEquals(prices.size.toLong(), window.ticks())
+        }
+        assertFailsWith<IllegalArgumentException> { BuySellWindow(1) }
+    }
+}
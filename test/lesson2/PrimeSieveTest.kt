@@ -0,0 +1,49 @@
+package lesson2
+
+import org.junit.jupiter.api.Tag
+import kotlin.test.*
+
+class PrimeSieveTest {
+    @Test
+    @Tag("3")
+    fun countPrimes() {
+        val sieve = PrimeSieve(10_000_000)
+        assertEquals(0L, sieve.countPrimes(-10, 1))
+        assertEquals(1L, sieve.countPrimes(2, 2))
+        assertEquals(4L, sieve.countPrimes(0, 10))
+        assertEquals(0L, sieve.countPrimes(24, 28))
+        assertEquals(2L, sieve.countPrimes(29, 31))
+        assertEquals(0L, sieve.countPrimes(31, 29))
+        assertEquals(664579L, sieve.countPrimes(1, 10_000_000))
+        assertEquals(664579L - 78498L, sieve.countPrimes(1_000_001, 10_000_000))
+        for (limit in listOf(2, 12, 541, 100000, 5000000)) {
+            assertEquals(JavaAlgorithms.calcPrimesNumber(limit).toLong(), sieve.countPrimes(0, limit.toLong()))
+        }
+        assertFailsWith<IllegalArgumentException> { sieve.countPrimes(0, 10_000_001) }
+    }
+
+    @Test
+    @Tag("3")
+    fun iterator() {
+        val sieve = PrimeSieve(1_000_000_000_000)
+        val small = mutableListOf<Long>()
+        val iterator = sieve.iterator(0, 30)
+        while (iterator.hasNext()) {
+            small += iterator.nextLong()
+        }
+        assertEquals(listOf<Long>(2, 3, 5, 7, 11, 13, 17, 19, 23, 29), small)
+
+        val large = sieve.iterator(999_999_999_000, 1_000_000_000_000)
+        var count = 0L
+        var previous = 0L
+        while (large.hasNext()) {
+            val prime = large.nextLong()
+            assertTrue(prime > previous)
+            previous = prime
+            count++
+        }
+        assertEquals(sieve.countPrimes(999_999_999_000, 1_000_000_000_000), count)
+        assertEquals(999_999_999_989, previous)
+        assertFailsWith<NoSuchElementException> { large.nextLong() }
+    }
+}
@@ -0,0 +1,112 @@
+package lesson3
+
+import org.junit.jupiter.api.Tag
+import org.junit.jupiter.api.Test
+import kotlin.math.log2
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class AvlTreeTest : AbstractBinarySearchTreeTest() {
+
+    override fun create(): CheckableSortedSet<Int> =
+        AvlTree()
+
+    @Test
+    @Tag("Example")
+    fun initTest() {
+        doInitTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun addTest() {
+        doAddTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun firstAndLastTest() {
+        doFirstAndLastTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun removeTest() {
+        doRemoveTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun iteratorTest() {
+        doIteratorTest()
+    }
+
+    @Test
+    @Tag("8")
+    fun iteratorRemoveTest() {
+        doIteratorRemoveTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun subSetTest() {
+        doSubSetTest()
+    }
+
+    @Test
+    @Tag("8")
+    fun subSetRelationTest() {
+        doSubSetRelationTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun subSetFirstAndLastTest() {
+        doSubSetFirstAndLastTest()
+    }
+
+    @Test
+    @Tag("4")
+    fun headSetTest() {
+        doHeadSetTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun headSetRelationTest() {
+        doHeadSetRelationTest()
+    }
+
+    @Test
+    @Tag("4")
+    fun tailSetTest() {
+        doTailSetTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun tailSetRelationTest() {
+        doTailSetRelationTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun sortedInsertTest() {
+        val tree = AvlTree<Int>()
+        val size = 1_000_000
+        for (i in 0 until size) {
+            tree.add(i)
+        }
+        assertEquals(size, tree.size)
+        // Для АВЛ-дерева высота не больше 1.45 * log2(n + 2)
+        assertTrue(tree.height() <= 1.45 * log2(size + 2.0), "Height ${tree.height()} is too big")
+        assertTrue(tree.checkInvariant())
+        for (i in 0 until size step 2) {
+            assertTrue(tree.remove(i))
+        }
+        assertEquals(size / 2, tree.size)
+        assertTrue(tree.checkInvariant())
+        assertEquals(listOf(size / 2 + 1, size / 2 + 3), tree.tailSet(size / 2).take(2))
+        assertEquals(10, tree.subSet(100, 120).size)
+    }
+}
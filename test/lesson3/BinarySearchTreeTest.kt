@@ -2,6 +2,10 @@ package lesson3
 
 import org.junit.jupiter.api.Tag
 import org.junit.jupiter.api.Test
+import java.util.*
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
 
 class BinarySearchTreeTest : AbstractBinarySearchTreeTest() {
 
@@ -86,4 +90,104 @@ class BinarySearchTreeTest : AbstractBinarySearchTreeTest() {
         doTailSetRelationTest()
     }
 
-}
\ No newline at end of file
+    @Test
+    @Tag("Example")
+    fun degenerateTreeTestJava() {
+        // Упорядоченные ключи вытягивают дерево в список, рекурсивный обход такой глубины переполнил бы стек
+        val size = 20_000
+        val tree = BinarySearchTree<Int>()
+        for (i in 0 until size) {
+            tree.add(i)
+        }
+        assertEquals(size, tree.height())
+        assertTrue(tree.checkInvariant())
+        assertTrue(size - 1 in tree)
+        assertEquals(size - 2, tree.headSet(size - 1).last())
+        for (i in size - 1 downTo 0 step 2) {
+            assertTrue(tree.remove(i))
+        }
+        assertEquals(size / 2, tree.size)
+        assertTrue(tree.checkInvariant())
+        assertEquals(size / 2, tree.height())
+    }
+
+    @Test
+    @Tag("Example")
+    fun orderStatisticTestJava() {
+        val random = Random(42)
+        for (iteration in 1..50) {
+            val tree = BinarySearchTree<Int>()
+            val control = TreeSet<Int>()
+            val view = tree.subSet(20, 70) as BinarySearchTree<Int>
+            for (i in 1..100) {
+                val value = random.nextInt(100)
+                if (random.nextInt(3) == 0) {
+                    assertEquals(control.remove(value), tree.remove(value))
+                } else {
+                    assertEquals(control.add(value), tree.add(value))
+                }
+            }
+            val iterator = tree.iterator()
+            while (iterator.hasNext()) {
+                val value = iterator.next()
+                if (value % 5 == 0) {
+                    iterator.remove()
+                    control.remove(value)
+                }
+            }
+            assertEquals(control.size, tree.size)
+            assertEquals(control.toList(), tree.toList())
+            for (value in -1..101) {
+                assertEquals(control.headSet(value).size, tree.rank(value))
+            }
+            control.forEachIndexed { index, value -> assertEquals(value, tree.select(index)) }
+            assertFailsWith<IndexOutOfBoundsException> { tree.select(control.size) }
+            val from = random.nextInt(100)
+            val to = from + random.nextInt(100 - from + 1)
+            assertEquals(control.subSet(from, to).size, tree.countInRange(from, to))
+            val expectedView = control.subSet(20, 70)
+            assertEquals(expectedView.size, view.size)
+            assertEquals(expectedView.headSet(50).size, view.rank(50))
+            if (expectedView.isNotEmpty()) {
+                assertEquals(expectedView.first(), view.select(0))
+            }
+            assertEquals(control.subSet(30, 70).size, view.subSet(30, 90).size)
+            assertEquals(control.subSet(20, 40).size, view.headSet(40).size)
+            assertEquals(control.subSet(65, 70).size, view.tailSet(65).size)
+        }
+    }
+
+    @Test
+    @Tag("Example")
+    fun subSetIteratorTestJava() {
+        val random = Random(42)
+        val tree = BinarySearchTree<Int>()
+        val control = TreeSet<Int>()
+        for (i in 1..1000) {
+            val value = random.nextInt(10000)
+            tree.add(value)
+            control.add(value)
+        }
+        for (iteration in 1..100) {
+            val from = random.nextInt(10000)
+            val to = from + random.nextInt(2000)
+            assertEquals(control.subSet(from, to).toList(), tree.subSet(from, to).toList())
+            assertEquals(control.headSet(to).toList(), tree.headSet(to).toList())
+            assertEquals(control.tailSet(from).toList(), tree.tailSet(from).toList())
+            assertEquals(control.subSet(from, to).toList(), tree.tailSet(from).headSet(to).toList())
+        }
+        val view = tree.subSet(2000, 4000)
+        val iterator = view.iterator()
+        while (iterator.hasNext()) {
+            val value = iterator.next()
+            if (value % 2 == 0) {
+                iterator.remove()
+                control.remove(value)
+            }
+        }
+        assertFailsWith<NoSuchElementException> { iterator.next() }
+        assertEquals(control.toList(), tree.toList())
+        assertEquals(control.subSet(2000, 4000).toList(), view.toList())
+        assertTrue(tree.checkInvariant())
+    }
+}
@@ -0,0 +1,145 @@
+package lesson3
+
+import org.junit.jupiter.api.Tag
+import org.junit.jupiter.api.Test
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ThreadLocalRandom
+import kotlin.concurrent.thread
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class LockFreeSkipListSetTest : AbstractBinarySearchTreeTest() {
+
+    override fun create(): CheckableSortedSet<Int> =
+        LockFreeSkipListSet()
+
+    @Test
+    @Tag("Example")
+    fun initTest() {
+        doInitTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun addTest() {
+        doAddTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun firstAndLastTest() {
+        doFirstAndLastTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun removeTest() {
+        doRemoveTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun iteratorTest() {
+        doIteratorTest()
+    }
+
+    @Test
+    @Tag("8")
+    fun iteratorRemoveTest() {
+        doIteratorRemoveTest()
+    }
+
+    @Test
+    @Tag("5")
+    fun subSetTest() {
+        doSubSetTest()
+    }
+
+    @Test
+    @Tag("8")
+    fun subSetRelationTest() {
+        doSubSetRelationTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun subSetFirstAndLastTest() {
+        doSubSetFirstAndLastTest()
+    }
+
+    @Test
+    @Tag("4")
+    fun headSetTest() {
+        doHeadSetTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun headSetRelationTest() {
+        doHeadSetRelationTest()
+    }
+
+    @Test
+    @Tag("4")
+    fun tailSetTest() {
+        doTailSetTest()
+    }
+
+    @Test
+    @Tag("7")
+    fun tailSetRelationTest() {
+        doTailSetRelationTest()
+    }
+
+    @Test
+    @Tag("Example")
+    fun concurrentTest() {
+        val set = LockFreeSkipListSet<Int>()
+        val threads = 8
+        val perThread = 20_000
+        val start = CountDownLatch(1)
+        val failures = ConcurrentLinkedQueue<Throwable>()
+        fun checkedThread(body: () -> Unit) = thread {
+            try {
+                start.await()
+                body()
+            } catch (e: Throwable) {
+                failures += e
+            }
+        }
+        // Каждый поток добавляет свои числа, удаляет чётные из них и читает чужие
+        val workers = (0 until threads).map { index ->
+            checkedThread {
+                val random = ThreadLocalRandom.current()
+                for (i in 0 until perThread) {
+                    assertTrue(set.add(i * threads + index))
+                    set.contains(random.nextInt(perThread * threads))
+                }
+                for (i in 0 until perThread step 2) {
+                    assertTrue(set.remove(i * threads + index))
+                    assertFalse(set.remove(i * threads + index))
+                }
+            }
+        }
+        // Итераторы во время изменений возвращают элементы по возрастанию
+        val reader = checkedThread {
+            repeat(20) {
+                var previous = Int.MIN_VALUE
+                for (value in set) {
+                    assertTrue(value > previous)
+                    previous = value
+                }
+            }
+        }
+        start.countDown()
+        workers.forEach { it.join() }
+        reader.join()
+        failures.firstOrNull()?.let { throw it }
+        val expected = (0 until perThread * threads).filter { (it / threads) % 2 == 1 }
+        assertEquals(expected, set.toList())
+        assertEquals(expected.size, set.size)
+        assertTrue(set.checkInvariant())
+    }
+}
@@ -0,0 +1,142 @@
+package util
+
+import java.io.File
+import kotlin.math.exp
+import kotlin.math.ln
+import kotlin.math.sqrt
+
+/**
+ * Классы сложности, с которыми сравниваются замеры, в порядке возрастания
+ */
+enum class Complexity(private val label: String, val model: (Double) -> Double) {
+    LINEAR("O(n)", { it }),
+    LINEARITHMIC("O(n*log(n))", { it * ln(it) }),
+    QUADRATIC("O(n^2)", { it * it });
+
+    override fun toString() = label
+
+    companion object {
+        /**
+         * Класс выражения из комментария вида O(...): произведение двух размеров или квадрат - QUADRATIC,
+         * логарифм - LINEARITHMIC, остальное (n, n + m, 1) - LINEAR
+         */
+        fun parse(expression: String): Complexity {
+            val text = expression.lowercase().replace(" ", "")
+            val body = text.removePrefix("o(").removeSuffix(")")
+            return when {
+                "^2" in body || Regex("""\b[a-z]\*[a-z]\b""").containsMatchIn(body.replace(Regex("""log\(.*?\)"""), "1")) ->
+                    QUADRATIC
+                "log" in body -> LINEARITHMIC
+                else -> LINEAR
+            }
+        }
+    }
+}
+
+data class ComplexityFit(val complexity: Complexity, val coefficient: Double, val error: Double)
+
+/**
+ * Ряд размеров from, from * factor, from * factor^2, ... не больше to
+ */
+fun geometricSizes(from: Int, to: Int, factor: Int = 2): List<Int> =
+    generateSequence(from) { if (it.toLong() * factor <= to) it * factor else null }.toList()
+
+/**
+ * Замер body на каждом размере: warmups прогонов отбрасываются, из repeats прогонов берётся медиана времени.
+ * body сам измеряет время (без подготовки входа) и возвращает фактический размер входа.
+ */
+fun <T> measure(sizes: List<Int>, warmups: Int = 1, repeats: Int = 3, body: (Int) -> PerfResult<T>): List<PerfResult<T>> {
+    require(repeats > 0)
+    return sizes.map { size ->
+        repeat(warmups) { body(size) }
+        val results = List(repeats) { body(size) }.sortedBy { it.time }
+        results[results.size / 2]
+    }
+}
+
+/**
+ * Подгонка time ~ c * model(size) для каждого класса сложности в логарифмическом масштабе.
+ * Ошибка - среднеквадратичное отклонение log(time / model(size)) от log(c); лучшая модель идёт первой.
+ */
+fun <T> fitComplexity(data: List<PerfResult<T>>): List<ComplexityFit> {
+    require(data.size >= 3) { "At least three sizes are needed to fit complexity" }
+    val sizes = data.map { it.size.toDouble() }
+    val times = data.map { maxOf(it.time, 1L).toDouble() }
+    return Complexity.values().map { fit(it, sizes, times) }.sortedBy { it.error }
+}
+
+private fun fit(complexity: Complexity, sizes: List<Double>, times: List<Double>): ComplexityFit {
+    val logRatios = sizes.indices.map { ln(times[it]) - ln(complexity.model(sizes[it])) }
+    val mean = logRatios.average()
+    val error = sqrt(logRatios.sumOf { (it - mean) * (it - mean) } / logRatios.size)
+    return ComplexityFit(complexity, exp(mean), error)
+}
+
+/**
+ * Ошибка модели lower на точных данных модели higher для размеров sizes.
+ * Зависит только от размаха размеров: на ряду в 32 раза O(n) и O(n*log(n)) расходятся лишь на 0.1,
+ * на ряду в 1000 раз - на 0.2.
+ */
+fun separation(lower: Complexity, higher: Complexity, sizes: List<Int>): Double {
+    val points = sizes.map { it.toDouble() }
+    return fit(lower, points, points.map(higher.model)).error
+}
+
+/**
+ * Класс сложности из комментария //Сложность (или //Трудоёмкость) над объявлением функции name в файле sourceName.
+ * Если в комментарии несколько оценок, берётся первая.
+ */
+fun declaredComplexity(sourceName: String, name: String): Complexity {
+    val lines = File(sourceName).readLines()
+    val declaration = Regex("""\b(static|public|private|protected|fun)\b.*\b${Regex.escape(name)}\s*\(""")
+    val index = lines.indexOfFirst { declaration.containsMatchIn(it) && !it.trim().startsWith("//") }
+    require(index >= 0) { "No declaration of $name in $sourceName" }
+    var line = index - 1
+    while (line >= 0) {
+        val text = lines[line].trim()
+        if (text.startsWith("//Сложность") || text.startsWith("//Трудоёмкость")) {
+            val start = text.indexOf("O(")
+            require(start >= 0) { "No O(...) in comment of $name: $text" }
+            var depth = 0
+            for (end in start + 1 until text.length) {
+                if (text[end] == '(') depth++
+                if (text[end] == ')' && --depth == 0) {
+                    return Complexity.parse(text.substring(start, end + 1))
+                }
+            }
+            throw IllegalArgumentException("Unbalanced O(...) in comment of $name: $text")
+        }
+        if (!text.startsWith("//") && !text.startsWith("@") && text.isNotEmpty()) break
+        line--
+    }
+    throw IllegalArgumentException("No complexity comment above $name in $sourceName")
+}
+
+/**
+ * Проверка, что замеры растут не быстрее заявленного класса.
+ * Падает, если лучше всего подходит класс хуже заявленного, причём заявленная модель ошибается
+ * больше чем в tolerance раз сильнее лучшей и больше порога, чтобы шум замеров не давал ложных срабатываний.
+ * Порог - minError (около 15% в разах), но не больше доли minSeparation от того, насколько на этих размерах
+ * заявленный класс вообще отличим от следующего: иначе на узком ряду размеров регрессия не была бы видна.
+ */
+fun <T> assertComplexity(
+    declared: Complexity,
+    data: List<PerfResult<T>>,
+    tolerance: Double = 2.0,
+    minError: Double = 0.15,
+    minSeparation: Double = 0.5
+): List<ComplexityFit> {
+    val fits = fitComplexity(data)
+    val best = fits.first()
+    val declaredFit = fits.first { it.complexity == declared }
+    val next = Complexity.values().getOrNull(declared.ordinal + 1)
+    val threshold = if (next == null) minError
+    else minOf(minError, minSeparation * separation(declared, next, data.map { it.size }))
+    if (best.complexity > declared && declaredFit.error > best.error * tolerance && declaredFit.error > threshold) {
+        throw AssertionError(
+            "Measured complexity $best is worse than declared $declared: " +
+                    data.joinToString { "${it.size} -> ${it.time} ns" }
+        )
+    }
+    return fits
+}
@@ -0,0 +1,68 @@
+package util
+
+import org.junit.jupiter.api.Tag
+import kotlin.math.ln
+import kotlin.test.*
+
+class ComplexityTest {
+    private fun synthetic(sizes: List<Int>, time: (Double) -> Double) =
+        sizes.map { PerfResult(size = it, time = time(it.toDouble()).toLong(), data = Unit) }
+
+    @Test
+    @Tag("1")
+    fun parse() {
+        assertEquals(Complexity.LINEAR, Complexity.parse("O(n)"))
+        assertEquals(Complexity.LINEAR, Complexity.parse("O(n + m)"))
+        assertEquals(Complexity.LINEAR, Complexity.parse("O(1)"))
+        assertEquals(Complexity.LINEARITHMIC, Complexity.parse("O(n*log(n))"))
+        assertEquals(Complexity.LINEARITHMIC, Complexity.parse("O(nlog(n))"))
+        assertEquals(Complexity.LINEARITHMIC, Complexity.parse("O(m*log(n/m + 1))"))
+        assertEquals(Complexity.QUADRATIC, Complexity.parse("O(n^2)"))
+        assertEquals(Complexity.QUADRATIC, Complexity.parse("O(n*m)"))
+    }
+
+    @Test
+    @Tag("1")
+    fun declared() {
+        assertEquals(Complexity.LINEAR, declaredComplexity("src/lesson1/JavaTasks.java", "sortTemperatures"))
+        assertEquals(Complexity.LINEARITHMIC, declaredComplexity("src/lesson1/JavaTasks.java", "sortAddresses"))
+        assertEquals(Complexity.QUADRATIC, declaredComplexity("src/lesson2/JavaAlgorithms.java", "longestCommonSubstringByRows"))
+        assertFailsWith<IllegalArgumentException> { declaredComplexity("src/lesson1/JavaTasks.java", "noSuchMethod") }
+    }
+
+    @Test
+    @Tag("1")
+    fun fit() {
+        val sizes = geometricSizes(1000, 1_000_000)
+        assertEquals(listOf(1000, 2000, 4000), sizes.take(3))
+        assertEquals(512000, sizes.last())
+        // Постоянные накладные расходы и шум не должны мешать подгонке
+        val noise = listOf(1.1, 0.9, 1.05, 0.95, 1.0, 1.1, 0.9, 1.0, 1.05, 0.95)
+        var index = 0
+        val linear = synthetic(sizes) { (10 * it + 5000) * noise[index++ % noise.size] }
+        assertEquals(Complexity.LINEAR, fitComplexity(linear).first().complexity)
+        val linearithmic = synthetic(sizes) { 10 * it * ln(it) }
+        assertEquals(Complexity.LINEARITHMIC, fitComplexity(linearithmic).first().complexity)
+        val quadratic = synthetic(sizes) { it * it }
+        assertEquals(Complexity.QUADRATIC, fitComplexity(quadratic).first().complexity)
+
+        assertComplexity(Complexity.LINEAR, linear)
+        assertComplexity(Complexity.QUADRATIC, linearithmic)
+        assertFailsWith<AssertionError> { assertComplexity(Complexity.LINEAR, quadratic) }
+        assertFailsWith<AssertionError> { assertComplexity(Complexity.LINEARITHMIC, quadratic) }
+        assertFailsWith<AssertionError> { assertComplexity(Complexity.LINEAR, linearithmic) }
+    }
+
+    @Test
+    @Tag("1")
+    fun measureTakesMedian() {
+        var calls = 0
+        val times = listOf(100L, 300L, 200L)
+        val result = measure(listOf(10), warmups = 2, repeats = 3) {
+            calls++
+            PerfResult(size = it, time = if (calls <= 2) 1_000_000L else times[calls - 3], data = Unit)
+        }
+        assertEquals(5, calls)
+        assertEquals(200L, result.single().time)
+    }
+}
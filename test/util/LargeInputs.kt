@@ -0,0 +1,161 @@
+package util
+
+import java.io.BufferedOutputStream
+import java.io.File
+import java.nio.file.Files
+import kotlin.math.abs
+import kotlin.random.Random
+
+/**
+ * Генерация больших входных файлов в форматах задач из input/.
+ *
+ * Файл пишется построчно через буфер и никогда не хранится в памяти целиком, поэтому можно
+ * генерировать входы размером в несколько гигабайт. При одинаковых seed и bytes содержимое
+ * файла одно и то же. Размер файла - не меньше bytes и не больше bytes плюс одна строка.
+ */
+enum class LargeInput(val prefix: String) {
+    /** Температуры от -273.0 до +500.0 с одним знаком после точки, как в temp_in*.txt */
+    TEMPERATURE("temp") {
+        override fun line(random: Random, state: LineState) = buildString {
+            val t = random.nextInt(-2730, 5001)
+            if (t < 0) append('-')
+            append(abs(t) / 10).append('.').append(abs(t) % 10)
+        }
+    },
+
+    /** Время в 12-часовом формате hh:mm:ss AM/PM, как в time_in*.txt */
+    TIME("time") {
+        override fun line(random: Random, state: LineState) = buildString {
+            for (part in intArrayOf(random.nextInt(1, 13), random.nextInt(60), random.nextInt(60))) {
+                if (isNotEmpty()) append(':')
+                if (part < 10) append('0')
+                append(part)
+            }
+            append(if (random.nextBoolean()) " AM" else " PM")
+        }
+    },
+
+    /** Адреса "Фамилия Имя - Улица Номер", как в addr_in*.txt */
+    ADDRESS("addr") {
+        override fun line(random: Random, state: LineState) =
+            "${surnames.random(random)} ${names.random(random)} - ${streets.random(random)} ${random.nextInt(1, 200)}"
+    },
+
+    /** Натуральные числа последовательности, как в seq_in*.txt */
+    SEQUENCE("seq") {
+        override fun line(random: Random, state: LineState) = random.nextInt(1, 1_000_000).toString()
+    },
+
+    /**
+     * Цены для задачи о покупке и продаже, как в buysell_in*.txt: случайное блуждание
+     * в пределах от 1 до 1000000, чтобы лучшая пара не лежала всегда на краях файла
+     */
+    PRICE("buysell") {
+        override fun line(random: Random, state: LineState): String {
+            val price = if (state.lines == 0L) random.nextInt(1, 1_000_001)
+            else (state.last + random.nextInt(-1000, 1001)).coerceIn(1, 1_000_000)
+            state.last = price
+            return price.toString()
+        }
+    },
+
+    /** Прямоугольное поле из цифр 0..9 через пробел, как в field_in*.txt, по FIELD_WIDTH клеток в строке */
+    FIELD("field") {
+        override fun line(random: Random, state: LineState): String {
+            val cells = CharArray(FIELD_WIDTH * 2 - 1) { ' ' }
+            for (i in 0 until FIELD_WIDTH) {
+                cells[i * 2] = '0' + random.nextInt(10)
+            }
+            return String(cells)
+        }
+    };
+
+    /**
+     * Состояние генерации между строками: число уже записанных строк и последнее значение
+     */
+    class LineState {
+        var lines = 0L
+        var last = 0
+    }
+
+    abstract fun line(random: Random, state: LineState): String
+
+    /**
+     * Запись не меньше bytes байт в файл output, строки оканчиваются '\n'
+     */
+    //Сложность O(bytes)
+    //Ресурсоёмкость O(1)
+    fun write(output: File, bytes: Long, seed: Long = DEFAULT_SEED): File {
+        require(bytes >= 0) { "Negative size: $bytes" }
+        val random = Random(seed)
+        val state = LineState()
+        var written = 0L
+        BufferedOutputStream(output.outputStream(), BUFFER_SIZE).use { stream ->
+            while (written < bytes) {
+                val line = line(random, state).toByteArray()
+                stream.write(line)
+                stream.write('\n'.code)
+                written += line.size + 1
+                state.lines++
+            }
+        }
+        return output
+    }
+
+    /**
+     * Запись в новый файл во временном каталоге directory, имя файла содержит формат, размер и seed
+     */
+    fun generate(directory: File, bytes: Long, seed: Long = DEFAULT_SEED): File =
+        write(File(directory, "${prefix}_large_${bytes}_$seed.txt"), bytes, seed)
+
+    companion object {
+        const val DEFAULT_SEED = 42L
+        const val FIELD_WIDTH = 1000
+        private const val BUFFER_SIZE = 1 shl 16
+
+        private val surnames = listOf(
+            "Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов", "Попов", "Васильев", "Соколов",
+            "Михайлов", "Новиков", "Фёдоров", "Морозов", "Волков", "Алексеев", "Лебедев", "Семёнов"
+        )
+        private val names = listOf(
+            "Иван", "Пётр", "Алексей", "Сергей", "Андрей", "Дмитрий", "Михаил", "Николай",
+            "Анна", "Мария", "Ольга", "Елена", "Татьяна", "Наталья", "Ирина", "Светлана"
+        )
+        private val streets = listOf(
+            "Садовая", "Железнодорожная", "Ленина", "Мира", "Советская", "Центральная", "Школьная",
+            "Лесная", "Новая", "Набережная", "Заводская", "Полевая", "Молодёжная", "Луговая"
+        )
+    }
+}
+
+/**
+ * Каталог для больших входов: по умолчанию новый временный каталог
+ */
+fun largeInputDirectory(path: String? = null): File =
+    if (path == null) Files.createTempDirectory("large-inputs").toFile() else File(path).apply { mkdirs() }
+
+/**
+ * Генерация из командной строки: gradle generateLargeInputs -PlargeInputs=temp,addr -PlargeInputSize=2G
+ * Аргументы: список форматов через запятую (или all), размер (с суффиксами K, M, G), seed, каталог.
+ */
+fun main(args: Array<String>) {
+    val formats = args.getOrElse(0) { "all" }
+    val bytes = parseSize(args.getOrElse(1) { "1G" })
+    val seed = args.getOrNull(2)?.toLong() ?: LargeInput.DEFAULT_SEED
+    val directory = largeInputDirectory(args.getOrNull(3))
+    val inputs = if (formats == "all") LargeInput.values().toList()
+    else formats.split(",").map { format -> LargeInput.values().first { it.prefix == format || it.name == format.uppercase() } }
+    for (input in inputs) {
+        println(input.generate(directory, bytes, seed).absolutePath)
+    }
+}
+
+fun parseSize(size: String): Long {
+    val multiplier = when (size.last().uppercaseChar()) {
+        'K' -> 1L shl 10
+        'M' -> 1L shl 20
+        'G' -> 1L shl 30
+        else -> return size.toLong()
+    }
+    return size.dropLast(1).toLong() * multiplier
+}
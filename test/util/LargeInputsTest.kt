@@ -0,0 +1,71 @@
+package util
+
+import lesson1.JavaTasks
+import lesson2.BuySellOptimizer
+import org.junit.jupiter.api.Tag
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotEquals
+import kotlin.test.assertTrue
+
+class LargeInputsTest {
+    private inline fun withDirectory(body: (File) -> Unit) {
+        val directory = largeInputDirectory()
+        try {
+            body(directory)
+        } finally {
+            directory.deleteRecursively()
+        }
+    }
+
+    @Test
+    @Tag("1")
+    fun deterministic() = withDirectory { directory ->
+        for (input in LargeInput.values()) {
+            val first = input.write(File(directory, "first.txt"), 100_000, seed = 1)
+            val second = input.write(File(directory, "second.txt"), 100_000, seed = 1)
+            val other = input.write(File(directory, "other.txt"), 100_000, seed = 2)
+            assertTrue(first.readBytes().contentEquals(second.readBytes()), "$input")
+            assertNotEquals(first.readText(), other.readText(), "$input")
+            val longestLine = first.readLines().maxOf { it.toByteArray().size + 1 }
+            assertTrue(first.length() in 100_000L until 100_000L + longestLine, "$input: ${first.length()}")
+        }
+    }
+
+    @Test
+    @Tag("1")
+    fun formats() = withDirectory { directory ->
+        val temperatures = LargeInput.TEMPERATURE.generate(directory, 1 shl 20)
+        val sortedTemperatures = File(directory, "temp_sorted.txt")
+        JavaTasks.sortTemperatures(temperatures.path, sortedTemperatures.path)
+        val values = sortedTemperatures.readLines().map { it.toDouble() }
+        assertEquals(temperatures.readLines().size, values.size)
+        assertEquals(values.sorted(), values)
+
+        val times = LargeInput.TIME.generate(directory, 1 shl 20)
+        JavaTasks.sortTimes(times.path, File(directory, "time_sorted.txt").path)
+
+        val addresses = LargeInput.ADDRESS.generate(directory, 1 shl 20)
+        JavaTasks.sortAddresses(addresses.path, File(directory, "addr_sorted.txt").path)
+
+        val sequence = LargeInput.SEQUENCE.generate(directory, 1 shl 20)
+        val sortedSequence = File(directory, "seq_sorted.txt")
+        JavaTasks.sortSequence(sequence.path, sortedSequence.path)
+        assertEquals(sequence.readLines().sorted(), sortedSequence.readLines().sorted())
+
+        val prices = LargeInput.PRICE.generate(directory, 1 shl 20)
+        assertEquals(BuySellOptimizer.optimize(prices.path), BuySellOptimizer.optimizeParallel(prices.path))
+
+        val field = LargeInput.FIELD.generate(directory, 1 shl 16).readLines()
+        assertTrue(field.all { row -> row.split(" ").size == LargeInput.FIELD_WIDTH })
+    }
+
+    @Test
+    @Tag("1")
+    fun sizes() {
+        assertEquals(512L, parseSize("512"))
+        assertEquals(3L shl 20, parseSize("3M"))
+        assertEquals(4L shl 30, parseSize("4g"))
+    }
+}